@@ -0,0 +1,402 @@
+package sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class contains the result of the SAT planner on a single problem of a
+ * benchmark. A result can be written in CSV format (one line per problem, see
+ * {@link #CSV_HEADER}) and read back to be used as a baseline, or written in
+ * JSON format.
+ */
+public final class BenchmarkResult {
+
+    /**
+     * The status of the planner at the end of a run.
+     */
+    public enum Status {
+        /** A valid plan has been found. */
+        SOLVED,
+        /** The planner stopped without finding a plan. */
+        NOT_SOLVED,
+        /** A plan has been found but it is not a solution of the problem. */
+        INVALID_PLAN,
+        /** The planner has been stopped because it reached the time limit. */
+        TIMEOUT,
+        /** The planner has been stopped because it reached the memory limit. */
+        OUT_OF_MEMORY,
+        /** The planner failed for another reason (parsing error, crash...). */
+        ERROR
+    }
+
+    /**
+     * The header of the CSV format of a result.
+     */
+    public static final String CSV_HEADER = "domain,problem,status,encode_time_ms,solve_time_ms,wall_time_ms,"
+            + "horizon,clauses,plan_length,peak_heap_bytes,regressions";
+
+    /**
+     * Number of columns of the CSV format.
+     */
+    private static final int NB_CSV_COLUMNS = 11;
+
+    /**
+     * Name of the domain (i.e the name of the benchmark folder).
+     */
+    private final String domain;
+
+    /**
+     * Name of the problem (i.e the name of the problem file without extension).
+     */
+    private final String problem;
+
+    /**
+     * Status of the run.
+     */
+    private Status status = Status.ERROR;
+
+    /**
+     * Total time spent to encode the problem into CNF formulas in milliseconds.
+     */
+    private long encodeTime = -1;
+
+    /**
+     * Total time spent by the SAT solver in milliseconds.
+     */
+    private long solveTime = -1;
+
+    /**
+     * Wall clock time of the whole run (including the start of the JVM) in
+     * milliseconds.
+     */
+    private long wallTime = -1;
+
+    /**
+     * Plan size of the last encoding of the problem.
+     */
+    private int horizon = -1;
+
+    /**
+     * Number of clauses of the last encoding of the problem.
+     */
+    private int clauses = -1;
+
+    /**
+     * Number of actions of the plan found.
+     */
+    private int planLength = -1;
+
+    /**
+     * Peak of the heap used during the run in bytes.
+     */
+    private long peakHeap = -1;
+
+    /**
+     * The regressions found when comparing this result to a baseline.
+     */
+    private final List<String> regressions = new ArrayList<String>();
+
+    /**
+     * Create a new result for a problem.
+     *
+     * @param domain  Name of the domain
+     * @param problem Name of the problem
+     */
+    public BenchmarkResult(final String domain, final String problem) {
+        this.domain = domain;
+        this.problem = problem;
+    }
+
+    /**
+     * Returns the name of the domain.
+     *
+     * @return The name of the domain
+     */
+    public String getDomain() {
+        return this.domain;
+    }
+
+    /**
+     * Returns the name of the problem.
+     *
+     * @return The name of the problem
+     */
+    public String getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the unique key of the result (i.e domain/problem).
+     *
+     * @return The key of the result
+     */
+    public String getKey() {
+        return this.domain + "/" + this.problem;
+    }
+
+    /**
+     * Returns the status of the run.
+     *
+     * @return The status of the run
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Set the status of the run.
+     *
+     * @param status The status of the run
+     */
+    public void setStatus(final Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Returns the time spent to encode the problem in milliseconds.
+     *
+     * @return The time spent to encode the problem in milliseconds
+     */
+    public long getEncodeTime() {
+        return this.encodeTime;
+    }
+
+    /**
+     * Set the time spent to encode the problem in milliseconds.
+     *
+     * @param encodeTime The time spent to encode the problem in milliseconds
+     */
+    public void setEncodeTime(final long encodeTime) {
+        this.encodeTime = encodeTime;
+    }
+
+    /**
+     * Returns the time spent by the SAT solver in milliseconds.
+     *
+     * @return The time spent by the SAT solver in milliseconds
+     */
+    public long getSolveTime() {
+        return this.solveTime;
+    }
+
+    /**
+     * Set the time spent by the SAT solver in milliseconds.
+     *
+     * @param solveTime The time spent by the SAT solver in milliseconds
+     */
+    public void setSolveTime(final long solveTime) {
+        this.solveTime = solveTime;
+    }
+
+    /**
+     * Returns the wall clock time of the run in milliseconds.
+     *
+     * @return The wall clock time of the run in milliseconds
+     */
+    public long getWallTime() {
+        return this.wallTime;
+    }
+
+    /**
+     * Set the wall clock time of the run in milliseconds.
+     *
+     * @param wallTime The wall clock time of the run in milliseconds
+     */
+    public void setWallTime(final long wallTime) {
+        this.wallTime = wallTime;
+    }
+
+    /**
+     * Returns the plan size of the last encoding.
+     *
+     * @return The plan size of the last encoding
+     */
+    public int getHorizon() {
+        return this.horizon;
+    }
+
+    /**
+     * Set the plan size of the last encoding.
+     *
+     * @param horizon The plan size of the last encoding
+     */
+    public void setHorizon(final int horizon) {
+        this.horizon = horizon;
+    }
+
+    /**
+     * Returns the number of clauses of the last encoding.
+     *
+     * @return The number of clauses of the last encoding
+     */
+    public int getClauses() {
+        return this.clauses;
+    }
+
+    /**
+     * Set the number of clauses of the last encoding.
+     *
+     * @param clauses The number of clauses of the last encoding
+     */
+    public void setClauses(final int clauses) {
+        this.clauses = clauses;
+    }
+
+    /**
+     * Returns the number of actions of the plan found.
+     *
+     * @return The number of actions of the plan found
+     */
+    public int getPlanLength() {
+        return this.planLength;
+    }
+
+    /**
+     * Set the number of actions of the plan found.
+     *
+     * @param planLength The number of actions of the plan found
+     */
+    public void setPlanLength(final int planLength) {
+        this.planLength = planLength;
+    }
+
+    /**
+     * Returns the peak of the heap used in bytes.
+     *
+     * @return The peak of the heap used in bytes
+     */
+    public long getPeakHeap() {
+        return this.peakHeap;
+    }
+
+    /**
+     * Set the peak of the heap used in bytes.
+     *
+     * @param peakHeap The peak of the heap used in bytes
+     */
+    public void setPeakHeap(final long peakHeap) {
+        this.peakHeap = peakHeap;
+    }
+
+    /**
+     * Returns the regressions found when comparing this result to a baseline.
+     *
+     * @return The regressions (empty if there is no regression)
+     */
+    public List<String> getRegressions() {
+        return this.regressions;
+    }
+
+    /**
+     * Compare this result to the result of the same problem in a baseline and
+     * store the regressions found. The time and the memory are only considered
+     * as a regression if they increase by more than the tolerance given and by
+     * more than a noise floor (500 ms for the time, 16 MB for the memory).
+     *
+     * @param baseline  The result of the baseline
+     * @param tolerance The relative increase tolerated (0.2 means 20%)
+     */
+    public void compareTo(final BenchmarkResult baseline, final double tolerance) {
+        if (baseline.status == Status.SOLVED && this.status != Status.SOLVED) {
+            this.regressions.add("status " + baseline.status + " -> " + this.status);
+            return;
+        }
+        if (this.status != Status.SOLVED || baseline.status != Status.SOLVED) {
+            return;
+        }
+
+        final long time = this.encodeTime + this.solveTime;
+        final long baselineTime = baseline.encodeTime + baseline.solveTime;
+        if (time > baselineTime * (1 + tolerance) && time - baselineTime > 500) {
+            this.regressions.add("time " + baselineTime + "ms -> " + time + "ms");
+        }
+        if (this.peakHeap > baseline.peakHeap * (1 + tolerance) && this.peakHeap - baseline.peakHeap > (16L << 20)) {
+            this.regressions.add("peak heap " + baseline.peakHeap + " -> " + this.peakHeap);
+        }
+        if (this.planLength > baseline.planLength) {
+            this.regressions.add("plan length " + baseline.planLength + " -> " + this.planLength);
+        }
+    }
+
+    /**
+     * Returns the result in CSV format (see {@link #CSV_HEADER}). The regressions
+     * are separated by a semicolon. The regressions found by
+     * {@link #compareTo(BenchmarkResult, double)} contain no comma or semicolon,
+     * so they are read back unchanged by {@link #fromCsv(String)}.
+     *
+     * @return The result as a CSV line
+     */
+    public String toCsv() {
+        return this.domain + "," + this.problem + "," + this.status + "," + this.encodeTime + "," + this.solveTime
+                + "," + this.wallTime + "," + this.horizon + "," + this.clauses + "," + this.planLength + ","
+                + this.peakHeap + "," + String.join(";", this.regressions).replace(',', ' ');
+    }
+
+    /**
+     * Read a result from a line in CSV format (see {@link #CSV_HEADER}).
+     *
+     * @param line The CSV line
+     * @return The result
+     * @throws IllegalArgumentException If the line is not a valid result
+     */
+    public static BenchmarkResult fromCsv(final String line) {
+        final String[] columns = line.split(",", -1);
+        if (columns.length != NB_CSV_COLUMNS) {
+            throw new IllegalArgumentException("Incorrect benchmark result: " + line);
+        }
+        try {
+            final BenchmarkResult result = new BenchmarkResult(columns[0], columns[1]);
+            result.status = Status.valueOf(columns[2]);
+            result.encodeTime = Long.parseLong(columns[3]);
+            result.solveTime = Long.parseLong(columns[4]);
+            result.wallTime = Long.parseLong(columns[5]);
+            result.horizon = Integer.parseInt(columns[6]);
+            result.clauses = Integer.parseInt(columns[7]);
+            result.planLength = Integer.parseInt(columns[8]);
+            result.peakHeap = Long.parseLong(columns[9]);
+            if (!columns[10].isEmpty()) {
+                result.regressions.addAll(Arrays.asList(columns[10].split(";")));
+            }
+            return result;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Incorrect benchmark result: " + line);
+        }
+    }
+
+    /**
+     * Returns the result in JSON format.
+     *
+     * @return The result as a JSON object
+     */
+    public String toJson() {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"domain\": ").append(quote(this.domain)).append(",\n");
+        json.append("  \"problem\": ").append(quote(this.problem)).append(",\n");
+        json.append("  \"status\": ").append(quote(this.status.toString())).append(",\n");
+        json.append("  \"encodeTimeMs\": ").append(this.encodeTime).append(",\n");
+        json.append("  \"solveTimeMs\": ").append(this.solveTime).append(",\n");
+        json.append("  \"wallTimeMs\": ").append(this.wallTime).append(",\n");
+        json.append("  \"horizon\": ").append(this.horizon).append(",\n");
+        json.append("  \"clauses\": ").append(this.clauses).append(",\n");
+        json.append("  \"planLength\": ").append(this.planLength).append(",\n");
+        json.append("  \"peakHeapBytes\": ").append(this.peakHeap).append(",\n");
+        json.append("  \"regressions\": [");
+        for (int i = 0; i < this.regressions.size(); i++) {
+            json.append(i == 0 ? "" : ", ").append(quote(this.regressions.get(i)));
+        }
+        json.append("]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Returns a string as a JSON string literal.
+     *
+     * @param value The string
+     * @return The JSON string literal
+     */
+    private static String quote(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,389 @@
+package sat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import picocli.CommandLine;
+
+/**
+ * This class implements a runner to evaluate the performance of the SAT planner
+ * on the benchmarks.
+ *
+ * <p>
+ * Each problem is solved by a {@link BenchmarkTask} launched in its own JVM with
+ * a memory limit (option <code>-Xmx</code>) and stopped if it reaches the time
+ * limit. The problems are scheduled over a pool of workers. For each problem,
+ * the result is written in JSON format into the file
+ * <code>&lt;output&gt;/&lt;domain&gt;/&lt;problem&gt;.json</code> (and the
+ * output of the planner into <code>&lt;output&gt;/&lt;domain&gt;/&lt;problem&gt;.log</code>),
+ * and the results of all the problems are written in CSV format into the file
+ * <code>&lt;output&gt;/results.csv</code>. If a baseline (a
+ * <code>results.csv</code> file of a previous run) is given, each result is
+ * compared to the result of the baseline and the regressions are reported.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * BenchmarkRunner [-hV] [-b=<benchmarksDir>] [-d=<domains>]... [-n=<nbProblems>]
+ *                 [-w=<nbWorkers>] [-t=<timeout>] [-m=<memory>] [-o=<outputDir>]
+ *                 [-c=<baseline>] [--tolerance=<tolerance>]
+ *
+ * Options:
+ *   -b, --benchmarks=<benchmarksDir>  Folder which contains one folder per domain (preset benchmarks)
+ *   -d, --domains=<domains>           Domains to run (preset all the folders of the benchmarks folder)
+ *   -n, --problems=<nbProblems>       Number of problems to run for each domain (preset 20)
+ *   -w, --workers=<nbWorkers>         Number of problems solved in parallel (preset 1)
+ *   -t, --timeout=<timeout>           Time limit of each problem in seconds (preset 1800)
+ *   -m, --memory=<memory>             Memory limit of each problem in MB (preset 4096)
+ *   -o, --output=<outputDir>          Folder to write the results (preset Results_benchmark/sat)
+ *   -c, --compare-to=<baseline>       CSV file of the results of a previous run
+ *       --tolerance=<tolerance>       Relative increase of time and memory tolerated (preset 0.2)
+ * }
+ * </pre>
+ *
+ * <p>
+ * Command line example:
+ * </p>
+ *
+ * <pre>
+ * {@code
+ *    ./gradlew benchmark --args="-w 4 -t 300 -c Results_benchmark/sat/baseline.csv"
+ * }
+ * </pre>
+ */
+@CommandLine.Command(name = "BenchmarkRunner", version = "BenchmarkRunner 1.0", description = "Evaluates the SAT planner on the benchmarks.", sortOptions = false, mixinStandardHelpOptions = true, headerHeading = "Usage:%n", synopsisHeading = "%n", descriptionHeading = "%nDescription:%n%n", parameterListHeading = "%nParameters:%n", optionListHeading = "%nOptions:%n")
+public class BenchmarkRunner implements Callable<Integer> {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(BenchmarkRunner.class.getName());
+
+    /**
+     * The specification of the command, used to report the incorrect options.
+     */
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    /**
+     * Folder which contains one folder per domain.
+     */
+    @CommandLine.Option(names = { "-b",
+            "--benchmarks" }, paramLabel = "<benchmarksDir>", description = "Folder which contains one folder per domain (preset benchmarks)")
+    private File benchmarksDir = new File("benchmarks");
+
+    /**
+     * Domains to run. If empty, all the folders of the benchmarks folder are run.
+     */
+    @CommandLine.Option(names = { "-d",
+            "--domains" }, paramLabel = "<domains>", split = ",", description = "Domains to run (preset all the folders of the benchmarks folder)")
+    private List<String> domains = new ArrayList<String>();
+
+    /**
+     * Number of problems to run for each domain.
+     */
+    @CommandLine.Option(names = { "-n",
+            "--problems" }, paramLabel = "<nbProblems>", description = "Number of problems to run for each domain (preset 20)")
+    private int nbProblems = 20;
+
+    /**
+     * Number of problems solved in parallel.
+     */
+    @CommandLine.Option(names = { "-w",
+            "--workers" }, paramLabel = "<nbWorkers>", description = "Number of problems solved in parallel (preset 1)")
+    private int nbWorkers = 1;
+
+    /**
+     * Time limit of each problem in seconds.
+     */
+    @CommandLine.Option(names = { "-t",
+            "--timeout" }, paramLabel = "<timeout>", description = "Time limit of each problem in seconds (preset 1800)")
+    private int timeout = 1800;
+
+    /**
+     * Memory limit of each problem in MB.
+     */
+    @CommandLine.Option(names = { "-m",
+            "--memory" }, paramLabel = "<memory>", description = "Memory limit of each problem in MB (preset 4096)")
+    private int memory = 4096;
+
+    /**
+     * Folder to write the results.
+     */
+    @CommandLine.Option(names = { "-o",
+            "--output" }, paramLabel = "<outputDir>", description = "Folder to write the results (preset Results_benchmark/sat)")
+    private File outputDir = new File("Results_benchmark/sat");
+
+    /**
+     * CSV file of the results of a previous run.
+     */
+    @CommandLine.Option(names = { "-c",
+            "--compare-to" }, paramLabel = "<baseline>", description = "CSV file of the results of a previous run")
+    private File baseline = null;
+
+    /**
+     * Relative increase of time and memory tolerated before reporting a
+     * regression.
+     */
+    @CommandLine.Option(names = {
+            "--tolerance" }, paramLabel = "<tolerance>", description = "Relative increase of time and memory tolerated (preset 0.2)")
+    private double tolerance = 0.2;
+
+    /**
+     * A problem of a benchmark.
+     */
+    private static final class BenchmarkProblem {
+
+        /**
+         * Name of the domain.
+         */
+        private final String domainName;
+
+        /**
+         * The domain file.
+         */
+        private final File domainFile;
+
+        /**
+         * The problem file.
+         */
+        private final File problemFile;
+
+        /**
+         * Create a new problem.
+         *
+         * @param domainName  Name of the domain
+         * @param domainFile  The domain file
+         * @param problemFile The problem file
+         */
+        private BenchmarkProblem(final String domainName, final File domainFile, final File problemFile) {
+            this.domainName = domainName;
+            this.domainFile = domainFile;
+            this.problemFile = problemFile;
+        }
+
+        /**
+         * Returns the name of the problem (i.e the name of the problem file without
+         * extension).
+         *
+         * @return The name of the problem
+         */
+        private String getProblemName() {
+            final String name = this.problemFile.getName();
+            return name.substring(0, name.length() - ".pddl".length());
+        }
+    }
+
+    /**
+     * Find the problems to run. For each domain, the problems are the files of
+     * the domain folder with the extension <code>.pddl</code> (except the domain
+     * file <code>domain.pddl</code>) sorted by name.
+     *
+     * @return The problems to run
+     */
+    private List<BenchmarkProblem> findProblems() {
+        final List<BenchmarkProblem> problems = new ArrayList<BenchmarkProblem>();
+
+        List<String> domainNames = this.domains;
+        if (domainNames.isEmpty()) {
+            domainNames = new ArrayList<String>();
+            final File[] domainDirs = this.benchmarksDir.listFiles(File::isDirectory);
+            if (domainDirs != null) {
+                for (File domainDir : domainDirs) {
+                    domainNames.add(domainDir.getName());
+                }
+            }
+            domainNames.sort(null);
+        }
+
+        for (String domainName : domainNames) {
+            final File domainDir = new File(this.benchmarksDir, domainName);
+            final File domainFile = new File(domainDir, "domain.pddl");
+            final File[] problemFiles = domainDir
+                    .listFiles(f -> f.isFile() && f.getName().endsWith(".pddl") && !f.equals(domainFile));
+            if (!domainFile.isFile() || problemFiles == null) {
+                LOGGER.error("No domain file found in {}\n", domainDir);
+                continue;
+            }
+            Arrays.sort(problemFiles);
+            for (int i = 0; i < problemFiles.length && i < this.nbProblems; i++) {
+                problems.add(new BenchmarkProblem(domainName, domainFile, problemFiles[i]));
+            }
+        }
+
+        return problems;
+    }
+
+    /**
+     * Run a problem in a new JVM with the memory and time limits.
+     *
+     * @param problem The problem to run
+     * @return The result of the run
+     * @throws IOException          If the JVM cannot be launched
+     * @throws InterruptedException If the worker has been interrupted
+     */
+    private BenchmarkResult runProblem(final BenchmarkProblem problem) throws IOException, InterruptedException {
+        final File domainOutputDir = new File(this.outputDir, problem.domainName);
+        final File logFile = new File(domainOutputDir, problem.getProblemName() + ".log");
+
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final ProcessBuilder processBuilder = new ProcessBuilder(java, "-Xmx" + this.memory + "m", "-cp",
+                System.getProperty("java.class.path"), BenchmarkTask.class.getName(), problem.domainName,
+                problem.getProblemName(), problem.domainFile.getAbsolutePath(),
+                problem.problemFile.getAbsolutePath());
+        processBuilder.redirectErrorStream(true);
+        processBuilder.redirectOutput(logFile);
+
+        final long beginTime = System.currentTimeMillis();
+        final Process process = processBuilder.start();
+        final boolean finished = process.waitFor(this.timeout, TimeUnit.SECONDS);
+        if (!finished) {
+            process.destroyForcibly();
+            process.waitFor();
+        }
+        final long endTime = System.currentTimeMillis();
+
+        BenchmarkResult result = null;
+        boolean outOfMemory = false;
+        for (String line : Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8)) {
+            if (line.startsWith(BenchmarkTask.RESULT_PREFIX)) {
+                result = BenchmarkResult.fromCsv(line.substring(BenchmarkTask.RESULT_PREFIX.length()));
+            } else if (line.contains("java.lang.OutOfMemoryError")) {
+                outOfMemory = true;
+            }
+        }
+        if (result == null) {
+            result = new BenchmarkResult(problem.domainName, problem.getProblemName());
+            if (!finished) {
+                result.setStatus(BenchmarkResult.Status.TIMEOUT);
+            } else if (outOfMemory) {
+                result.setStatus(BenchmarkResult.Status.OUT_OF_MEMORY);
+            } else {
+                result.setStatus(BenchmarkResult.Status.ERROR);
+            }
+        }
+        result.setWallTime(endTime - beginTime);
+
+        return result;
+    }
+
+    /**
+     * Read the results of a previous run.
+     *
+     * @param file The CSV file of the results
+     * @return The results indexed by key (see {@link BenchmarkResult#getKey()})
+     * @throws IOException If the file cannot be read
+     */
+    private static Map<String, BenchmarkResult> readResults(final File file) throws IOException {
+        final Map<String, BenchmarkResult> results = new HashMap<String, BenchmarkResult>();
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.equals(BenchmarkResult.CSV_HEADER)) {
+                continue;
+            }
+            final BenchmarkResult result = BenchmarkResult.fromCsv(line);
+            results.put(result.getKey(), result);
+        }
+        return results;
+    }
+
+    /**
+     * Run all the problems and write the results.
+     *
+     * @return 0 if there is no regression, 1 otherwise
+     * @throws Exception If the benchmarks cannot be run
+     */
+    @Override
+    public Integer call() throws Exception {
+        if (this.nbWorkers < 1 || this.timeout < 1 || this.memory < 1 || this.nbProblems < 0) {
+            throw new CommandLine.ParameterException(this.spec.commandLine(),
+                    "Incorrect number of workers, timeout, memory or number of problems");
+        }
+
+        final Map<String, BenchmarkResult> baselineResults = this.baseline == null
+                ? new HashMap<String, BenchmarkResult>()
+                : readResults(this.baseline);
+
+        final List<BenchmarkProblem> problems = findProblems();
+        LOGGER.info("Run {} problems with {} workers\n", problems.size(), this.nbWorkers);
+        for (BenchmarkProblem problem : problems) {
+            new File(this.outputDir, problem.domainName).mkdirs();
+        }
+
+        final ExecutorService workers = Executors.newFixedThreadPool(this.nbWorkers);
+        final List<Future<BenchmarkResult>> futures = new ArrayList<Future<BenchmarkResult>>();
+        for (BenchmarkProblem problem : problems) {
+            futures.add(workers.submit(() -> runProblem(problem)));
+        }
+        workers.shutdown();
+
+        final List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        int nbRegressions = 0;
+        for (int i = 0; i < problems.size(); i++) {
+            final BenchmarkProblem problem = problems.get(i);
+            BenchmarkResult result;
+            try {
+                result = futures.get(i).get();
+            } catch (ExecutionException e) {
+                LOGGER.error("Failed to run {}: {}\n", problem.problemFile, e.getCause());
+                result = new BenchmarkResult(problem.domainName, problem.getProblemName());
+            }
+
+            final BenchmarkResult baselineResult = baselineResults.get(result.getKey());
+            if (baselineResult != null) {
+                result.compareTo(baselineResult, this.tolerance);
+            }
+            if (!result.getRegressions().isEmpty()) {
+                nbRegressions++;
+                LOGGER.warn("Regression on {}: {}\n", result.getKey(), result.getRegressions());
+            }
+            LOGGER.info("{}: {} (encode {} ms, solve {} ms, plan length {})\n", result.getKey(), result.getStatus(),
+                    result.getEncodeTime(), result.getSolveTime(), result.getPlanLength());
+
+            Files.write(new File(new File(this.outputDir, problem.domainName), problem.getProblemName() + ".json")
+                    .toPath(), result.toJson().getBytes(StandardCharsets.UTF_8));
+            results.add(result);
+        }
+
+        final StringBuilder csv = new StringBuilder(BenchmarkResult.CSV_HEADER).append('\n');
+        for (BenchmarkResult result : results) {
+            csv.append(result.toCsv()).append('\n');
+        }
+        final File csvFile = new File(this.outputDir, "results.csv");
+        Files.write(csvFile.toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+        LOGGER.info("Results written into {}\n", csvFile);
+
+        if (nbRegressions > 0) {
+            LOGGER.error("{} regressions found\n", nbRegressions);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * The main method of the <code>BenchmarkRunner</code>.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        Startup.configure();
+        Startup.enableLogs();
+        final CommandLine cmd = new CommandLine(new BenchmarkRunner());
+        System.exit(cmd.execute(args));
+    }
+}
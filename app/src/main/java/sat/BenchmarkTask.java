@@ -0,0 +1,117 @@
+package sat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import fr.uga.pddl4j.parser.ParsedProblem;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.ADLProblem;
+
+/**
+ * This class runs the SAT planner on a single problem of a benchmark. It is
+ * launched by {@link BenchmarkRunner} in its own JVM so that the memory limit of
+ * the run can be set with the option <code>-Xmx</code> and so that the run can
+ * be stopped when the time limit is reached. The result of the run is written on
+ * the standard output in CSV format on a line starting with
+ * {@link #RESULT_PREFIX}.
+ *
+ * <pre>
+ * {@code
+ * java -cp <classpath> sat.BenchmarkTask <domainName> <problemName> <domainFile> <problemFile>
+ * }
+ * </pre>
+ */
+public final class BenchmarkTask {
+
+    /**
+     * The prefix of the line which contains the result of the run.
+     */
+    public static final String RESULT_PREFIX = "BENCHMARK_RESULT:";
+
+    /**
+     * This class only contains static methods.
+     */
+    private BenchmarkTask() {
+    }
+
+    /**
+     * Run the SAT planner on a problem and validate the plan found.
+     *
+     * @param domainName  Name of the domain
+     * @param problemName Name of the problem
+     * @param domainFile  The domain file
+     * @param problemFile The problem file
+     * @return The result of the run
+     */
+    public static BenchmarkResult run(final String domainName, final String problemName, final String domainFile,
+            final String problemFile) {
+        final BenchmarkResult result = new BenchmarkResult(domainName, problemName);
+        final SAT planner = new SAT();
+
+        try {
+            final ParsedProblem parsedProblem = planner.parse(domainFile, problemFile);
+            if (parsedProblem == null) {
+                result.setStatus(BenchmarkResult.Status.ERROR);
+                return result;
+            }
+            final ADLProblem problem = planner.instantiate(parsedProblem);
+
+            final Plan plan = planner.solve(problem);
+
+            result.setEncodeTime(planner.getStatistics().getTimeToEncode());
+            result.setSolveTime(planner.getStatistics().getTimeToSearch());
+            result.setHorizon(planner.getSizePlan());
+            result.setClauses(planner.getNbClauses());
+            if (plan == null) {
+                result.setStatus(BenchmarkResult.Status.NOT_SOLVED);
+            } else {
+                result.setPlanLength(plan.size());
+                result.setStatus(PlanValidator.isValid(problem, plan) ? BenchmarkResult.Status.SOLVED
+                        : BenchmarkResult.Status.INVALID_PLAN);
+            }
+        } catch (OutOfMemoryError e) {
+            result.setStatus(BenchmarkResult.Status.OUT_OF_MEMORY);
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.setStatus(BenchmarkResult.Status.ERROR);
+        }
+
+        result.setPeakHeap(getPeakHeapUsage());
+        return result;
+    }
+
+    /**
+     * Returns the peak of the heap used since the start of the JVM.
+     *
+     * @return The sum of the peak usage of all the heap memory pools in bytes
+     */
+    public static long getPeakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * The main method of the <code>BenchmarkTask</code>.
+     *
+     * @param args the domain name, the problem name, the domain file and the
+     *             problem file.
+     */
+    public static void main(String[] args) {
+        Startup.configure();
+        Startup.enableLogs();
+        if (args.length != 4) {
+            System.err.println("Usage: BenchmarkTask <domainName> <problemName> <domainFile> <problemFile>");
+            System.exit(2);
+        }
+        final BenchmarkResult result = run(args[0], args[1], args[2], args[3]);
+        System.out.println(RESULT_PREFIX + result.toCsv());
+        System.out.flush();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,281 @@
+package sat;
+
+import fr.uga.pddl4j.problem.ADLProblem;
+
+/**
+ * This class implements an estimation of the size of the CNF encoding of a
+ * problem before it is built. The number of variables, clauses and literals are
+ * exact; the number of bytes is an approximation of the memory required to store
+ * the clauses into vectors (see {@link SAT#encodeProblemAsCNF}) and then into the
+ * SAT solver.
+ *
+ * <p>
+ * All the counts are linear in the plan size, which allows to compute the
+ * maximum plan size that can be encoded with a given amount of memory (see
+ * {@link #getMaxPlanSize}).
+ * </p>
+ */
+public final class EncodingEstimate {
+
+    /**
+     * Approximate number of bytes used by a clause independently of its length:
+     * the VecInt object, the header of its array and the references to it in the
+     * vectors of clauses (about 48 bytes), and the clause object of the solver with
+     * its watches (about 56 bytes).
+     */
+    private static final long BYTES_PER_CLAUSE = 104;
+
+    /**
+     * Approximate number of bytes used by a literal (one int in the VecInt and
+     * one int in the clause of the solver).
+     */
+    private static final long BYTES_PER_LITERAL = 8;
+
+    /**
+     * Approximate number of bytes used by the solver for each variable (watch
+     * lists of both literals, activity, level, reason, phase, and the entries of
+     * the heap and of the trail).
+     */
+    private static final long BYTES_PER_VARIABLE = 256;
+
+    /**
+     * Fraction of the available memory that the encoding is allowed to use. The
+     * remaining memory absorbs the temporary peaks while the clauses are built
+     * and copied into the solver, and the clauses learnt by the solver.
+     *
+     * <p>
+     * The costs above and this margin have been calibrated against the smallest
+     * maximum heap size (-Xmx) with which the encoding and the search of a plan
+     * size succeed: this minimum is between 1.1 and 1.3 times the estimate on
+     * gripper, depots and on a problem with more variables than clauses.
+     * </p>
+     */
+    private static final double MEMORY_MARGIN = 0.75;
+
+    /**
+     * The encoding of the exclusion axioms.
+     */
+    private final ExclusionEncoding exclusionEncoding;
+
+    /**
+     * The size of the plan.
+     */
+    private final int planSize;
+
+    /**
+     * Number of variables of the encoding.
+     */
+    private final long nbVariables;
+
+    /**
+     * Number of clauses of the encoding.
+     */
+    private final long nbClauses;
+
+    /**
+     * Number of literals of all the clauses of the encoding.
+     */
+    private final long nbLiterals;
+
+    /**
+     * Create a new estimate.
+     *
+     * @param exclusionEncoding The encoding of the exclusion axioms
+     * @param planSize          The size of the plan
+     * @param nbVariables       Number of variables
+     * @param nbClauses         Number of clauses
+     * @param nbLiterals        Number of literals
+     */
+    private EncodingEstimate(final ExclusionEncoding exclusionEncoding, final int planSize, final long nbVariables,
+            final long nbClauses, final long nbLiterals) {
+        this.exclusionEncoding = exclusionEncoding;
+        this.planSize = planSize;
+        this.nbVariables = nbVariables;
+        this.nbClauses = nbClauses;
+        this.nbLiterals = nbLiterals;
+    }
+
+    /**
+     * Compute the size of the encoding of a problem.
+     *
+     * @param problem           The problem to encode
+     * @param index             The index of the problem
+     * @param planSize          The size of the plan
+     * @param exclusionEncoding The encoding of the exclusion axioms
+     * @return The estimate of the size of the encoding
+     */
+    public static EncodingEstimate estimate(final ADLProblem problem, final EncodingIndex index, final int planSize,
+            final ExclusionEncoding exclusionEncoding) {
+        final long nbFluents = index.getNbFluents();
+        final long nbActions = index.getNbActions();
+
+        long variables = index.getNbStepVariables(planSize) + (long) index.getNbConditionalEffects() * planSize;
+        long clauses = 0;
+        long literals = 0;
+
+        // Initial state: one unit clause for each fluent
+        clauses += nbFluents;
+        literals += nbFluents;
+
+        // Goal: one unit clause for each fluent of the goal
+        final long nbGoalFluents = problem.getGoal().getPositiveFluents().cardinality()
+                + problem.getGoal().getNegativeFluents().cardinality();
+        clauses += nbGoalFluents;
+        literals += nbGoalFluents;
+
+        // Actions: one binary clause for each precondition and effect at each step
+        final long nbActionClausesPerStep = index.getPositivePreconditions().totalSize()
+                + index.getNegativePreconditions().totalSize() + index.getPositiveEffects().totalSize()
+                + index.getNegativeEffects().totalSize();
+        clauses += nbActionClausesPerStep * planSize;
+        literals += 2 * nbActionClausesPerStep * planSize;
+
+        // Deletes which a conditional effect of the same action may add back: one
+        // more literal in the clause of the delete for each of these effects
+        literals += ((long) index.getNegativeEffectGuards().totalSize()
+                + index.getNegativeConditionalEffectGuards().totalSize()) * planSize;
+
+        // Conditional effects: for each effect at each step, one binary clause with
+        // its action, one binary clause for each fluent of its condition and of its
+        // effect, and one clause with the action, the condition and the effect
+        // variable (4 literals for each effect plus 3 for each fluent of its
+        // condition and 2 for each fluent of its effect)
+        final long nbConditionLiterals = index.getPositiveEffectConditions().totalSize()
+                + index.getNegativeEffectConditions().totalSize();
+        final long nbConditionalEffectLiterals = index.getPositiveConditionalEffects().totalSize()
+                + index.getNegativeConditionalEffects().totalSize();
+        final long nbConditionalEffects = index.getNbConditionalEffects();
+        clauses += (2 * nbConditionalEffects + nbConditionLiterals + nbConditionalEffectLiterals) * planSize;
+        literals += (4 * nbConditionalEffects + 3 * nbConditionLiterals + 2 * nbConditionalEffectLiterals)
+                * planSize;
+
+        // Explanatory frame axioms: two clauses for each fluent at each step, with
+        // the two fluents, the actions and the conditional effects
+        final long nbFrameClausesPerStep = 2L * index.getNbFluents();
+        clauses += nbFrameClausesPerStep * planSize;
+        literals += (2 * nbFrameClausesPerStep + index.getActionsWithPositiveEffect().totalSize()
+                + index.getActionsWithNegativeEffect().totalSize() + nbConditionalEffectLiterals) * planSize;
+
+        // Exclusion axioms
+        final long nbExclusionClausesPerStep;
+        switch (exclusionEncoding) {
+            case SEQUENTIAL:
+                nbExclusionClausesPerStep = nbActions < 2 ? 0 : 3 * nbActions - 4;
+                variables += index.getNbExclusionVariablesPerStep() * (long) planSize;
+                break;
+            case COMPLETE:
+            default:
+                nbExclusionClausesPerStep = nbActions * (nbActions - 1) / 2;
+                break;
+        }
+        clauses += nbExclusionClausesPerStep * planSize;
+        literals += 2 * nbExclusionClausesPerStep * planSize;
+
+        return new EncodingEstimate(exclusionEncoding, planSize, variables, clauses, literals);
+    }
+
+    /**
+     * Compute the maximum plan size which can be encoded with the memory given.
+     *
+     * @param problem           The problem to encode
+     * @param index             The index of the problem
+     * @param exclusionEncoding The encoding of the exclusion axioms
+     * @param availableMemory   The available memory in bytes
+     * @return The maximum plan size (0 if even the encoding of the initial state
+     *         and the goal does not fit in memory)
+     */
+    public static int getMaxPlanSize(final ADLProblem problem, final EncodingIndex index,
+            final ExclusionEncoding exclusionEncoding, final long availableMemory) {
+        final EncodingEstimate base = estimate(problem, index, 0, exclusionEncoding);
+        final EncodingEstimate oneStep = estimate(problem, index, 1, exclusionEncoding);
+        final long budget = (long) (availableMemory * MEMORY_MARGIN) - base.getEstimatedBytes();
+        final long bytesPerStep = Math.max(1, oneStep.getEstimatedBytes() - base.getEstimatedBytes());
+        final long clausesPerStep = Math.max(1, oneStep.nbClauses - base.nbClauses);
+        if (budget < 0) {
+            return 0;
+        }
+        final long maxPlanSize = Math.min(budget / bytesPerStep,
+                (Integer.MAX_VALUE - 8 - base.nbClauses) / clausesPerStep);
+        return (int) Math.min(Integer.MAX_VALUE, maxPlanSize);
+    }
+
+    /**
+     * Returns if the encoding can be built with the memory given (with a margin
+     * of 25%). The number of clauses must also fit into a single vector.
+     *
+     * @param availableMemory The available memory in bytes
+     * @return True if the encoding fits in memory, false otherwise
+     */
+    public boolean fitsIn(final long availableMemory) {
+        return this.nbClauses <= Integer.MAX_VALUE - 8
+                && this.getEstimatedBytes() <= (long) (availableMemory * MEMORY_MARGIN);
+    }
+
+    /**
+     * Returns the encoding of the exclusion axioms.
+     *
+     * @return The encoding of the exclusion axioms
+     */
+    public ExclusionEncoding getExclusionEncoding() {
+        return this.exclusionEncoding;
+    }
+
+    /**
+     * Returns the size of the plan.
+     *
+     * @return The size of the plan
+     */
+    public int getPlanSize() {
+        return this.planSize;
+    }
+
+    /**
+     * Returns the number of variables of the encoding.
+     *
+     * @return The number of variables
+     */
+    public long getNbVariables() {
+        return this.nbVariables;
+    }
+
+    /**
+     * Returns the number of clauses of the encoding.
+     *
+     * @return The number of clauses
+     */
+    public long getNbClauses() {
+        return this.nbClauses;
+    }
+
+    /**
+     * Returns the number of literals of all the clauses of the encoding.
+     *
+     * @return The number of literals
+     */
+    public long getNbLiterals() {
+        return this.nbLiterals;
+    }
+
+    /**
+     * Returns the approximate number of bytes required to build the encoding and
+     * to load it into the solver.
+     *
+     * @return The approximate number of bytes
+     */
+    public long getEstimatedBytes() {
+        return this.nbClauses * BYTES_PER_CLAUSE + this.nbLiterals * BYTES_PER_LITERAL
+                + this.nbVariables * BYTES_PER_VARIABLE;
+    }
+
+    /**
+     * Returns a description of the estimate.
+     *
+     * @return A description of the estimate
+     */
+    @Override
+    public String toString() {
+        return this.nbVariables + " variables, " + this.nbClauses + " clauses, " + this.nbLiterals + " literals, ~"
+                + (this.getEstimatedBytes() >> 20) + " MB (" + this.exclusionEncoding + " exclusion axioms, plan size "
+                + this.planSize + ")";
+    }
+}
@@ -0,0 +1,735 @@
+package sat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.uga.pddl4j.problem.ADLProblem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.problem.operator.Effect;
+import fr.uga.pddl4j.util.BitVector;
+
+/**
+ * This class implements an immutable index of the preconditions and the effects
+ * of the actions of a problem. The index is built once after the instantiation
+ * of the problem and is shared by all the encoders and all the horizons.
+ *
+ * <p>
+ * Each relation is stored in a compressed sparse row format (see
+ * {@link Table}): one array of offsets and one array of values, so that no
+ * boxing and no rebuild is required when the problem is encoded for a new
+ * plan size.
+ * </p>
+ *
+ * <p>
+ * The conditional effects of the actions are indexed separately: each
+ * conditional effect whose condition is not always satisfied when the action is
+ * executed gets an index, and is encoded with an auxiliary variable which is
+ * true when the effect fires (see {@link SAT#encodeConditionalEffects}). A
+ * conditional effect whose condition is implied by the precondition of its
+ * action is merged into the unconditional effect of the action, and a
+ * conditional effect whose condition contradicts the precondition is removed.
+ * As the deletes of an action are applied before its adds, a fluent deleted and
+ * added by an action is only kept as positive effect, and a fluent deleted by
+ * an action which may be added back by one of its conditional effects is only
+ * deleted if none of these effects fires (see {@link #getNegativeEffectGuards}).
+ * </p>
+ *
+ * <p>
+ * The index is also in charge of the numbering of the variables of the CNF
+ * formula (see {@link SAT#getFluentUniqueIDforTimeStep} for the description of
+ * the encoding) so that the encoders never have to look up the position of a
+ * fluent or an action in the lists of the problem. The auxiliary variables are
+ * numbered after the fluents and actions of all the time steps: first the
+ * variables of the conditional effects and then the variables of the sequential
+ * encoding of the exclusion axioms.
+ * </p>
+ */
+public final class EncodingIndex {
+
+    /**
+     * A read only relation between rows (actions or fluents) and integer values
+     * (fluents or actions) stored in compressed sparse row format. The values of
+     * the row <code>r</code> are at positions <code>start(r)</code> (inclusive)
+     * to <code>end(r)</code> (exclusive).
+     */
+    public static final class Table {
+
+        /**
+         * The offset of the first value of each row (with one more entry for the
+         * end of the last row).
+         */
+        private final int[] offsets;
+
+        /**
+         * The values of all the rows.
+         */
+        private final int[] values;
+
+        /**
+         * Create a new table.
+         *
+         * @param offsets The offsets of the rows
+         * @param values  The values of all the rows
+         */
+        private Table(final int[] offsets, final int[] values) {
+            this.offsets = offsets;
+            this.values = values;
+        }
+
+        /**
+         * Returns the position of the first value of a row.
+         *
+         * @param row The row
+         * @return The position of the first value of the row
+         */
+        public int start(final int row) {
+            return this.offsets[row];
+        }
+
+        /**
+         * Returns the position following the last value of a row.
+         *
+         * @param row The row
+         * @return The position following the last value of the row
+         */
+        public int end(final int row) {
+            return this.offsets[row + 1];
+        }
+
+        /**
+         * Returns the number of values of a row.
+         *
+         * @param row The row
+         * @return The number of values of the row
+         */
+        public int size(final int row) {
+            return this.offsets[row + 1] - this.offsets[row];
+        }
+
+        /**
+         * Returns the value at the position given.
+         *
+         * @param position The position of the value (between
+         *                 <code>start(row)</code> and <code>end(row)</code>)
+         * @return The value at this position
+         */
+        public int get(final int position) {
+            return this.values[position];
+        }
+
+        /**
+         * Returns the total number of values of the table.
+         *
+         * @return The total number of values
+         */
+        public int totalSize() {
+            return this.values.length;
+        }
+    }
+
+    /**
+     * The problem from which the index has been built.
+     */
+    private final ADLProblem problem;
+
+    /**
+     * Number of fluents of the problem.
+     */
+    private final int nbFluents;
+
+    /**
+     * Number of actions of the problem.
+     */
+    private final int nbActions;
+
+    /**
+     * For each action, the fluents of its positive preconditions.
+     */
+    private final Table positivePreconditions;
+
+    /**
+     * For each action, the fluents of its negative preconditions.
+     */
+    private final Table negativePreconditions;
+
+    /**
+     * For each action, the fluents of its unconditional positive effects.
+     */
+    private final Table positiveEffects;
+
+    /**
+     * For each action, the fluents of its unconditional negative effects.
+     */
+    private final Table negativeEffects;
+
+    /**
+     * For each conditional effect, the action which has this effect.
+     */
+    private final int[] conditionalEffectActions;
+
+    /**
+     * For each action, the indexes of its conditional effects.
+     */
+    private final Table conditionalEffects;
+
+    /**
+     * For each conditional effect, the fluents of the positive part of its
+     * condition.
+     */
+    private final Table positiveEffectConditions;
+
+    /**
+     * For each conditional effect, the fluents of the negative part of its
+     * condition.
+     */
+    private final Table negativeEffectConditions;
+
+    /**
+     * For each conditional effect, the fluents of its positive effects.
+     */
+    private final Table positiveConditionalEffects;
+
+    /**
+     * For each conditional effect, the fluents of its negative effects.
+     */
+    private final Table negativeConditionalEffects;
+
+    /**
+     * For each fluent, the conditional effects which have this fluent as positive
+     * effect.
+     */
+    private final Table conditionalEffectsWithPositiveEffect;
+
+    /**
+     * For each fluent, the conditional effects which have this fluent as negative
+     * effect.
+     */
+    private final Table conditionalEffectsWithNegativeEffect;
+
+    /**
+     * For each negative effect of an action (row <code>k</code> for the value at
+     * position <code>k</code> of {@link #negativeEffects}), the conditional
+     * effects of the same action which add the fluent back.
+     */
+    private final Table negativeEffectGuards;
+
+    /**
+     * For each negative effect of a conditional effect (row <code>k</code> for the
+     * value at position <code>k</code> of {@link #negativeConditionalEffects}),
+     * the other conditional effects of the same action which add the fluent back.
+     */
+    private final Table negativeConditionalEffectGuards;
+
+    /**
+     * For each fluent, the actions which have this fluent as positive effect.
+     */
+    private final Table actionsWithPositiveEffect;
+
+    /**
+     * For each fluent, the actions which have this fluent as negative effect.
+     */
+    private final Table actionsWithNegativeEffect;
+
+    /**
+     * Build the index of an instantiated problem.
+     *
+     * @param problem The instantiated problem to index
+     */
+    public EncodingIndex(final ADLProblem problem) {
+        this.problem = problem;
+        this.nbFluents = problem.getFluents().size();
+        this.nbActions = problem.getActions().size();
+
+        final List<Action> actions = problem.getActions();
+        final BitVector[] precondPos = new BitVector[this.nbActions];
+        final BitVector[] precondNeg = new BitVector[this.nbActions];
+        final BitVector[] effectPos = new BitVector[this.nbActions];
+        final BitVector[] effectNeg = new BitVector[this.nbActions];
+        final List<ConditionalEffect> effects = new ArrayList<ConditionalEffect>();
+        final List<Integer> effectActions = new ArrayList<Integer>();
+        final int[] effectOffsets = new int[this.nbActions + 1];
+        for (int a = 0; a < this.nbActions; a++) {
+            final Action action = actions.get(a);
+            final Condition precondition = action.getPrecondition();
+            precondPos[a] = precondition.getPositiveFluents();
+            precondNeg[a] = precondition.getNegativeFluents();
+            // The unconditional effect is recomputed by pddl4j at each call
+            final Effect effect = action.getUnconditionalEffect();
+            effectPos[a] = effect.getPositiveFluents();
+            effectNeg[a] = effect.getNegativeFluents();
+
+            final int firstEffect = effects.size();
+            for (ConditionalEffect conditionalEffect : action.getConditionalEffects()) {
+                final Condition condition = conditionalEffect.getCondition();
+                if (condition.isEmpty() || conditionalEffect.getEffect().isEmpty()
+                        || condition.getPositiveFluents().intersects(precondNeg[a])
+                        || condition.getNegativeFluents().intersects(precondPos[a])) {
+                    // Already in the unconditional effect, without effect or never fired
+                    continue;
+                }
+                if (isIncluded(condition.getPositiveFluents(), precondPos[a])
+                        && isIncluded(condition.getNegativeFluents(), precondNeg[a])) {
+                    // Always fired when the action is executed
+                    effectPos[a].or(conditionalEffect.getEffect().getPositiveFluents());
+                    effectNeg[a].or(conditionalEffect.getEffect().getNegativeFluents());
+                    continue;
+                }
+                effects.add(conditionalEffect);
+                effectActions.add(a);
+            }
+
+            // The deletes are applied before the adds: a fluent deleted and added by
+            // the action is true after the action
+            effectNeg[a].andNot(effectPos[a]);
+            for (int e = firstEffect; e < effects.size(); e++) {
+                final Effect conditionalEffect = effects.get(e).getEffect();
+                final BitVector conditionalEffectNeg = new BitVector(conditionalEffect.getNegativeFluents());
+                conditionalEffectNeg.andNot(effectPos[a]);
+                conditionalEffectNeg.andNot(conditionalEffect.getPositiveFluents());
+                if (conditionalEffect.getPositiveFluents().isEmpty() && conditionalEffectNeg.isEmpty()) {
+                    effects.remove(e);
+                    effectActions.remove(e);
+                    e--;
+                    continue;
+                }
+                effects.set(e, new ConditionalEffect(effects.get(e).getCondition(),
+                        new Effect(conditionalEffect.getPositiveFluents(), conditionalEffectNeg)));
+            }
+            effectOffsets[a + 1] = effects.size();
+        }
+
+        this.positivePreconditions = toTable(precondPos);
+        this.negativePreconditions = toTable(precondNeg);
+        this.positiveEffects = toTable(effectPos);
+        this.negativeEffects = toTable(effectNeg);
+
+        final int nbConditionalEffects = effects.size();
+        this.conditionalEffectActions = new int[nbConditionalEffects];
+        final int[] effectIndexes = new int[nbConditionalEffects];
+        final BitVector[] conditionPos = new BitVector[nbConditionalEffects];
+        final BitVector[] conditionNeg = new BitVector[nbConditionalEffects];
+        final BitVector[] conditionalEffectPos = new BitVector[nbConditionalEffects];
+        final BitVector[] conditionalEffectNeg = new BitVector[nbConditionalEffects];
+        for (int e = 0; e < nbConditionalEffects; e++) {
+            final ConditionalEffect conditionalEffect = effects.get(e);
+            this.conditionalEffectActions[e] = effectActions.get(e);
+            effectIndexes[e] = e;
+            conditionPos[e] = conditionalEffect.getCondition().getPositiveFluents();
+            conditionNeg[e] = conditionalEffect.getCondition().getNegativeFluents();
+            conditionalEffectPos[e] = conditionalEffect.getEffect().getPositiveFluents();
+            conditionalEffectNeg[e] = conditionalEffect.getEffect().getNegativeFluents();
+        }
+        this.conditionalEffects = new Table(effectOffsets, effectIndexes);
+        this.positiveEffectConditions = toTable(conditionPos);
+        this.negativeEffectConditions = toTable(conditionNeg);
+        this.positiveConditionalEffects = toTable(conditionalEffectPos);
+        this.negativeConditionalEffects = toTable(conditionalEffectNeg);
+        this.conditionalEffectsWithPositiveEffect = transpose(this.positiveConditionalEffects, this.nbFluents);
+        this.conditionalEffectsWithNegativeEffect = transpose(this.negativeConditionalEffects, this.nbFluents);
+
+        // For each delete, the conditional effects of the same action which add the
+        // fluent back
+        final BitVector[] negativeEffectAdds = new BitVector[this.negativeEffects.totalSize()];
+        for (int a = 0; a < this.nbActions; a++) {
+            for (int k = this.negativeEffects.start(a); k < this.negativeEffects.end(a); k++) {
+                negativeEffectAdds[k] = conditionalEffectsAdding(a, this.negativeEffects.get(k),
+                        conditionalEffectPos);
+            }
+        }
+        this.negativeEffectGuards = toTable(negativeEffectAdds);
+        final BitVector[] negativeConditionalEffectAdds = new BitVector[this.negativeConditionalEffects
+                .totalSize()];
+        for (int e = 0; e < nbConditionalEffects; e++) {
+            for (int k = this.negativeConditionalEffects.start(e); k < this.negativeConditionalEffects.end(e); k++) {
+                negativeConditionalEffectAdds[k] = conditionalEffectsAdding(this.conditionalEffectActions[e],
+                        this.negativeConditionalEffects.get(k), conditionalEffectPos);
+            }
+        }
+        this.negativeConditionalEffectGuards = toTable(negativeConditionalEffectAdds);
+
+        this.actionsWithPositiveEffect = transpose(this.positiveEffects, this.nbFluents);
+        this.actionsWithNegativeEffect = transpose(this.negativeEffects, this.nbFluents);
+    }
+
+    /**
+     * Returns if all the bits set of a bit vector are set in another one.
+     *
+     * @param subset   The bit vector which may be included
+     * @param superset The bit vector which may include it
+     * @return True if the first bit vector is included in the second, false
+     *         otherwise
+     */
+    private static boolean isIncluded(final BitVector subset, final BitVector superset) {
+        for (int p = subset.nextSetBit(0); p >= 0; p = subset.nextSetBit(p + 1)) {
+            if (!superset.get(p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the conditional effects of an action which have a fluent as
+     * positive effect.
+     *
+     * @param actionIdx            The index of the action
+     * @param fluentIdx            The index of the fluent
+     * @param conditionalEffectPos The positive effects of each conditional effect
+     * @return The indexes of the conditional effects
+     */
+    private BitVector conditionalEffectsAdding(final int actionIdx, final int fluentIdx,
+            final BitVector[] conditionalEffectPos) {
+        final BitVector adds = new BitVector();
+        for (int k = this.conditionalEffects.start(actionIdx); k < this.conditionalEffects.end(actionIdx); k++) {
+            final int e = this.conditionalEffects.get(k);
+            if (conditionalEffectPos[e].get(fluentIdx)) {
+                adds.set(e);
+            }
+        }
+        return adds;
+    }
+
+    /**
+     * Build a table from one bit vector per row.
+     *
+     * @param rows The bit vectors of each row
+     * @return The table containing the index of the bits set of each row
+     */
+    private static Table toTable(final BitVector[] rows) {
+        final int[] offsets = new int[rows.length + 1];
+        for (int r = 0; r < rows.length; r++) {
+            offsets[r + 1] = offsets[r] + rows[r].cardinality();
+        }
+        final int[] values = new int[offsets[rows.length]];
+        for (int r = 0; r < rows.length; r++) {
+            int position = offsets[r];
+            for (int p = rows[r].nextSetBit(0); p >= 0; p = rows[r].nextSetBit(p + 1)) {
+                values[position++] = p;
+            }
+        }
+        return new Table(offsets, values);
+    }
+
+    /**
+     * Build the transpose of a table (i.e for each value of the table, the rows
+     * which contain this value). The rows of the transposed table are sorted by
+     * increasing order.
+     *
+     * @param table  The table to transpose
+     * @param nbRows The number of rows of the transposed table
+     * @return The transposed table
+     */
+    private static Table transpose(final Table table, final int nbRows) {
+        final int[] offsets = new int[nbRows + 1];
+        final int nbInitialRows = table.offsets.length - 1;
+        for (int k = 0; k < table.values.length; k++) {
+            offsets[table.values[k] + 1]++;
+        }
+        for (int r = 0; r < nbRows; r++) {
+            offsets[r + 1] += offsets[r];
+        }
+        final int[] next = new int[nbRows];
+        System.arraycopy(offsets, 0, next, 0, nbRows);
+        final int[] values = new int[table.values.length];
+        for (int r = 0; r < nbInitialRows; r++) {
+            for (int k = table.start(r); k < table.end(r); k++) {
+                values[next[table.values[k]]++] = r;
+            }
+        }
+        return new Table(offsets, values);
+    }
+
+    /**
+     * Returns if this index has been built from the problem given.
+     *
+     * @param problem The problem
+     * @return True if the index has been built from this problem, false otherwise
+     */
+    public boolean isBuiltFor(final ADLProblem problem) {
+        return this.problem == problem;
+    }
+
+    /**
+     * Returns the number of fluents of the problem.
+     *
+     * @return The number of fluents
+     */
+    public int getNbFluents() {
+        return this.nbFluents;
+    }
+
+    /**
+     * Returns the number of actions of the problem.
+     *
+     * @return The number of actions
+     */
+    public int getNbActions() {
+        return this.nbActions;
+    }
+
+    /**
+     * Returns the number of variables used by each time step of the encoding
+     * (i.e the number of fluents plus the number of actions).
+     *
+     * @return The number of variables of a time step
+     */
+    public int getNbVariablesPerStep() {
+        return this.nbFluents + this.nbActions;
+    }
+
+    /**
+     * Returns the number of variables used by the fluents and the actions of all
+     * the time steps of a plan (i.e the ID of the fluent N at the time step
+     * <code>planSize</code>). The auxiliary variables of the encoding are numbered
+     * after this one.
+     *
+     * @param planSize Size of the plan
+     * @return The number of variables of the fluents and actions
+     */
+    public int getNbStepVariables(final int planSize) {
+        return (this.nbFluents + this.nbActions) * planSize + this.nbFluents;
+    }
+
+    /**
+     * Returns the number of auxiliary variables used by the sequential encoding of
+     * the exclusion axioms at each time step (see
+     * {@link ExclusionEncoding#SEQUENTIAL}).
+     *
+     * @return The number of auxiliary variables per time step
+     */
+    public int getNbExclusionVariablesPerStep() {
+        return Math.max(0, this.nbActions - 1);
+    }
+
+    /**
+     * Get the unique ID of the auxiliary variable of the sequential encoding of
+     * the exclusion axioms which is true if one of the actions 0 to
+     * <code>actionIdx</code> is executed at the time step specified.
+     *
+     * @param actionIdx The index of the action (between 0 and the number of
+     *                  actions minus 2)
+     * @param timeStep  The time step
+     * @param planSize  Size of the plan
+     * @return The unique ID of the auxiliary variable
+     */
+    public int exclusionVariable(final int actionIdx, final int timeStep, final int planSize) {
+        return getNbStepVariables(planSize) + getNbConditionalEffects() * planSize
+                + getNbExclusionVariablesPerStep() * timeStep + 1 + actionIdx;
+    }
+
+    /**
+     * Get the unique ID of the auxiliary variable which is true if a conditional
+     * effect fires at the time step specified (i.e its action is executed and its
+     * condition is satisfied).
+     *
+     * @param effectIdx The index of the conditional effect
+     * @param timeStep  The time step
+     * @param planSize  Size of the plan
+     * @return The unique ID of the auxiliary variable
+     */
+    public int effectVariable(final int effectIdx, final int timeStep, final int planSize) {
+        return getNbStepVariables(planSize) + getNbConditionalEffects() * timeStep + 1 + effectIdx;
+    }
+
+    /**
+     * Returns the total number of variables of the encoding (fluents, actions and
+     * auxiliary variables).
+     *
+     * @param planSize          Size of the plan
+     * @param exclusionEncoding The encoding of the exclusion axioms
+     * @return The number of variables of the encoding
+     */
+    public int getNbVariables(final int planSize, final ExclusionEncoding exclusionEncoding) {
+        int nbVariables = getNbStepVariables(planSize) + getNbConditionalEffects() * planSize;
+        if (exclusionEncoding == ExclusionEncoding.SEQUENTIAL) {
+            nbVariables += getNbExclusionVariablesPerStep() * planSize;
+        }
+        return nbVariables;
+    }
+
+    /**
+     * Get the unique ID of a fluent for the time step specified (see
+     * {@link SAT#getFluentUniqueIDforTimeStep}).
+     *
+     * @param fluentIdx The index of the fluent in the problem
+     * @param timeStep  The time step of the fluent
+     * @return The unique ID of the fluent at the given time step
+     */
+    public int fluentVariable(final int fluentIdx, final int timeStep) {
+        return (this.nbFluents + this.nbActions) * timeStep + 1 + fluentIdx;
+    }
+
+    /**
+     * Get the unique ID of an action for the time step specified (see
+     * {@link SAT#getActionUniqueIDforTimeStep}).
+     *
+     * @param actionIdx The index of the action in the problem
+     * @param timeStep  The time step of the action
+     * @return The unique ID of the action at the given time step
+     */
+    public int actionVariable(final int actionIdx, final int timeStep) {
+        return (this.nbFluents + this.nbActions) * timeStep + 1 + this.nbFluents + actionIdx;
+    }
+
+    /**
+     * Returns for each action the fluents of its positive preconditions.
+     *
+     * @return The table of the positive preconditions indexed by action
+     */
+    public Table getPositivePreconditions() {
+        return this.positivePreconditions;
+    }
+
+    /**
+     * Returns for each action the fluents of its negative preconditions.
+     *
+     * @return The table of the negative preconditions indexed by action
+     */
+    public Table getNegativePreconditions() {
+        return this.negativePreconditions;
+    }
+
+    /**
+     * Returns for each action the fluents of its unconditional positive effects
+     * (including the conditional effects always fired).
+     *
+     * @return The table of the positive effects indexed by action
+     */
+    public Table getPositiveEffects() {
+        return this.positiveEffects;
+    }
+
+    /**
+     * Returns for each action the fluents of its unconditional negative effects
+     * (including the conditional effects always fired).
+     *
+     * @return The table of the negative effects indexed by action
+     */
+    public Table getNegativeEffects() {
+        return this.negativeEffects;
+    }
+
+    /**
+     * Returns the number of conditional effects (i.e the conditional effects which
+     * are not merged into the unconditional effects of the actions).
+     *
+     * @return The number of conditional effects
+     */
+    public int getNbConditionalEffects() {
+        return this.conditionalEffectActions.length;
+    }
+
+    /**
+     * Returns the action of a conditional effect.
+     *
+     * @param effectIdx The index of the conditional effect
+     * @return The index of the action
+     */
+    public int getConditionalEffectAction(final int effectIdx) {
+        return this.conditionalEffectActions[effectIdx];
+    }
+
+    /**
+     * Returns for each conditional effect the fluents of the positive part of its
+     * condition.
+     *
+     * @return The table of the positive conditions indexed by conditional effect
+     */
+    public Table getPositiveEffectConditions() {
+        return this.positiveEffectConditions;
+    }
+
+    /**
+     * Returns for each conditional effect the fluents of the negative part of its
+     * condition.
+     *
+     * @return The table of the negative conditions indexed by conditional effect
+     */
+    public Table getNegativeEffectConditions() {
+        return this.negativeEffectConditions;
+    }
+
+    /**
+     * Returns for each conditional effect the fluents of its positive effects.
+     *
+     * @return The table of the positive effects indexed by conditional effect
+     */
+    public Table getPositiveConditionalEffects() {
+        return this.positiveConditionalEffects;
+    }
+
+    /**
+     * Returns for each conditional effect the fluents of its negative effects.
+     *
+     * @return The table of the negative effects indexed by conditional effect
+     */
+    public Table getNegativeConditionalEffects() {
+        return this.negativeConditionalEffects;
+    }
+
+    /**
+     * Returns for each negative effect of an action the conditional effects of
+     * the same action which add the fluent back. The row <code>k</code> matches
+     * the value at position <code>k</code> of {@link #getNegativeEffects}: the
+     * fluent is only deleted if none of these conditional effects fires.
+     *
+     * @return The table of the conditional effects indexed by position of the
+     *         negative effect
+     */
+    public Table getNegativeEffectGuards() {
+        return this.negativeEffectGuards;
+    }
+
+    /**
+     * Returns for each negative effect of a conditional effect the other
+     * conditional effects of the same action which add the fluent back. The row
+     * <code>k</code> matches the value at position <code>k</code> of
+     * {@link #getNegativeConditionalEffects}.
+     *
+     * @return The table of the conditional effects indexed by position of the
+     *         negative effect
+     */
+    public Table getNegativeConditionalEffectGuards() {
+        return this.negativeConditionalEffectGuards;
+    }
+
+    /**
+     * Returns for each fluent the conditional effects which have it as positive
+     * effect.
+     *
+     * @return The table of the conditional effects indexed by fluent
+     */
+    public Table getConditionalEffectsWithPositiveEffect() {
+        return this.conditionalEffectsWithPositiveEffect;
+    }
+
+    /**
+     * Returns for each fluent the conditional effects which have it as negative
+     * effect.
+     *
+     * @return The table of the conditional effects indexed by fluent
+     */
+    public Table getConditionalEffectsWithNegativeEffect() {
+        return this.conditionalEffectsWithNegativeEffect;
+    }
+
+    /**
+     * Returns for each fluent the actions which have it as positive effect.
+     *
+     * @return The table of the actions indexed by fluent
+     */
+    public Table getActionsWithPositiveEffect() {
+        return this.actionsWithPositiveEffect;
+    }
+
+    /**
+     * Returns for each fluent the actions which have it as negative effect.
+     *
+     * @return The table of the actions indexed by fluent
+     */
+    public Table getActionsWithNegativeEffect() {
+        return this.actionsWithNegativeEffect;
+    }
+}
@@ -0,0 +1,23 @@
+package sat;
+
+/**
+ * The encodings available for the exclusion axioms (i.e the constraint that at
+ * most one action is executed at each time step).
+ */
+public enum ExclusionEncoding {
+
+    /**
+     * One binary clause for each pair of actions at each time step. This encoding
+     * does not require any auxiliary variable but its size is quadratic in the
+     * number of actions.
+     */
+    COMPLETE,
+
+    /**
+     * Sequential counter encoding: one auxiliary variable for each action (except
+     * the last one) at each time step and about three binary clauses for each
+     * action at each time step. The size of this encoding is linear in the number
+     * of actions.
+     */
+    SEQUENTIAL
+}
@@ -0,0 +1,139 @@
+package sat;
+
+import java.util.BitSet;
+import java.util.List;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.ADLProblem;
+import fr.uga.pddl4j.problem.operator.Action;
+
+/**
+ * This class implements the extraction of a plan from a model found by the SAT
+ * solver.
+ *
+ * <p>
+ * The model returned by sat4j contains the literals of the assigned variables
+ * sorted by increasing variable. Only the range of the action variables of each
+ * time step is read (it is found with a binary search) and the actions executed
+ * are stored into a bit set where the bit <code>timeStep * nbActions + a</code>
+ * is set if the action <code>a</code> is executed at the time step
+ * <code>timeStep</code>. The plan is then built from this bit set. At each time
+ * step, the actions are ordered by increasing index in the problem.
+ * </p>
+ */
+public final class ModelDecoder {
+
+    /**
+     * This class only contains static methods.
+     */
+    private ModelDecoder() {
+    }
+
+    /**
+     * Returns the position of the first literal of the model whose variable is
+     * greater or equal to the variable given.
+     *
+     * @param model    The model (literals sorted by increasing variable)
+     * @param variable The variable to search
+     * @param from     The position from which to search
+     * @return The position of the first literal whose variable is greater or
+     *         equal to the variable (the length of the model if there is none)
+     */
+    private static int lowerBound(final int[] model, final int variable, final int from) {
+        int low = from;
+        int high = model.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (Math.abs(model[middle]) < variable) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Extract the actions executed at each time step from a model.
+     *
+     * @param model    The model found by the solver
+     * @param index    The index of the problem
+     * @param planSize Size of the plan
+     * @return A bit set where the bit <code>timeStep * nbActions + a</code> is
+     *         set if the action <code>a</code> is executed at the time step
+     *         <code>timeStep</code>
+     */
+    public static BitSet decodeActions(final int[] model, final EncodingIndex index, final int planSize) {
+        final int nbActions = index.getNbActions();
+        final BitSet actions = new BitSet(nbActions * planSize);
+        if (nbActions == 0) {
+            return actions;
+        }
+
+        int position = 0;
+        for (int timeStep = 0; timeStep < planSize; timeStep++) {
+            final int firstAction = index.actionVariable(0, timeStep);
+            final int lastAction = index.actionVariable(nbActions - 1, timeStep);
+            position = lowerBound(model, firstAction, position);
+            for (; position < model.length; position++) {
+                final int literal = model[position];
+                if (Math.abs(literal) > lastAction) {
+                    break;
+                }
+                if (literal > 0) {
+                    actions.set(timeStep * nbActions + literal - firstAction);
+                }
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Build a sequential plan from the actions executed at each time step. The
+     * actions of a time step are added by increasing index.
+     *
+     * @param actions The actions executed (see {@link #decodeActions})
+     * @param problem The problem to solve
+     * @return The sequential plan
+     */
+    public static Plan toSequentialPlan(final BitSet actions, final ADLProblem problem) {
+        final List<Action> problemActions = problem.getActions();
+        final int nbActions = problemActions.size();
+        final Plan plan = new SequentialPlan();
+        int idxActionInPlan = 0;
+        for (int bit = actions.nextSetBit(0); bit >= 0; bit = actions.nextSetBit(bit + 1)) {
+            plan.add(idxActionInPlan++, problemActions.get(bit % nbActions));
+        }
+        return plan;
+    }
+
+    /**
+     * Build a parallel plan (see {@link StepPlan}) from the actions executed at
+     * each time step. Each time step of the encoding where at least one action is
+     * executed gives a step of the plan (the time steps without action are
+     * removed). The actions of a step are added by increasing index. With the
+     * exclusion axioms of {@link ExclusionEncoding}, at most one action is
+     * executed at each time step, so each step has a single action.
+     *
+     * @param actions The actions executed (see {@link #decodeActions})
+     * @param problem The problem to solve
+     * @return The parallel plan
+     */
+    public static Plan toParallelPlan(final BitSet actions, final ADLProblem problem) {
+        final List<Action> problemActions = problem.getActions();
+        final int nbActions = problemActions.size();
+        final Plan plan = new StepPlan();
+        int previousTimeStep = -1;
+        int idxStepInPlan = -1;
+        for (int bit = actions.nextSetBit(0); bit >= 0; bit = actions.nextSetBit(bit + 1)) {
+            final int timeStep = bit / nbActions;
+            if (timeStep != previousTimeStep) {
+                previousTimeStep = timeStep;
+                idxStepInPlan++;
+            }
+            plan.add(idxStepInPlan, problemActions.get(bit % nbActions));
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,67 @@
+package sat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.ADLProblem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+
+/**
+ * This class implements a validator of sequential plans. The plan is simulated
+ * from the initial state of the problem: each action must be applicable in the
+ * state reached by the previous actions and the goal must be satisfied by the
+ * final state. This allows to check the plans found without calling an external
+ * tool such as VAL.
+ */
+public final class PlanValidator {
+
+    /**
+     * This class only contains static methods.
+     */
+    private PlanValidator() {
+    }
+
+    /**
+     * Check if a plan is a valid solution of a problem.
+     *
+     * @param problem The problem to solve
+     * @param plan    The plan to check (the actions are executed in the order
+     *                given by {@link Plan#actions()})
+     * @return True if the plan is valid, false otherwise
+     */
+    public static boolean isValid(final ADLProblem problem, final Plan plan) {
+        if (plan == null) {
+            return false;
+        }
+
+        final State state = new State(problem.getInitialState());
+        final List<ConditionalEffect> firedEffects = new ArrayList<ConditionalEffect>();
+
+        for (Action action : plan.actions()) {
+            if (!action.isApplicable(state)) {
+                return false;
+            }
+
+            // The conditions of the effects are all evaluated in the state before the
+            // action is executed
+            firedEffects.clear();
+            for (ConditionalEffect effect : action.getConditionalEffects()) {
+                if (state.satisfy(effect.getCondition())) {
+                    firedEffects.add(effect);
+                }
+            }
+            // Delete effects are applied before add effects
+            for (ConditionalEffect effect : firedEffects) {
+                state.andNot(effect.getEffect().getNegativeFluents());
+            }
+            for (ConditionalEffect effect : firedEffects) {
+                state.or(effect.getEffect().getPositiveFluents());
+            }
+        }
+
+        return state.satisfy(problem.getGoal());
+    }
+}
@@ -5,9 +5,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.util.BitSet;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -22,7 +20,6 @@ import org.sat4j.specs.TimeoutException;
 
 import fr.uga.pddl4j.parser.ParsedProblem;
 import fr.uga.pddl4j.plan.Plan;
-import fr.uga.pddl4j.plan.SequentialPlan;
 import fr.uga.pddl4j.planners.AbstractPlanner;
 import fr.uga.pddl4j.problem.ADLProblem;
 import fr.uga.pddl4j.problem.Fluent;
@@ -40,8 +37,8 @@ import picocli.CommandLine;
  *
  * <pre>
  * {@code
- * FF [-hV] [-l=<logLevel>] [-t=<timeout>] [-s=<sizePlan>][-o=<writePlanTo>] <domain>
- *             <problem>
+ * FF [-hV] [-l=<logLevel>] [-t=<timeout>] [-s=<sizePlan>][-o=<writePlanTo>]
+ *             [-e=<exclusionEncoding>] [-p] <domain> <problem>
  *
  * Description:
  *
@@ -61,6 +58,12 @@ import picocli.CommandLine;
  *                               preset 600s).
  *   -s, --sizePlan=<sizePlan> Set the length of the plan (preset 2)
  *   -o, --write-plan-to=<outputFullPath>  If a plan is found write the plan to the file path provided
+ *   -p, --parallel-plan       Return the plan found as a parallel plan (one step per
+ *                               time step of the encoding). The exclusion axioms allow
+ *                               one action per time step, so each step has one action
+ *   -e, --exclusion-encoding=<exclusionEncoding>  Set the encoding of the exclusion axioms: COMPLETE,
+ *                               SEQUENTIAL (preset COMPLETE). The SEQUENTIAL encoding is
+ *                               used automatically if the COMPLETE one does not fit in memory.
  *   -h, --help                Show this help message and exit.
  *   -V, --version             Print version information and exit.
  *  }
@@ -98,6 +101,34 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      */
     private int sizePlan = 1;
 
+    /**
+     * Index of the preconditions and effects of the problem shared by all the
+     * encoders.
+     */
+    private EncodingIndex encodingIndex = null;
+
+    /**
+     * Number of clauses of the last encoding of the problem.
+     */
+    private int nbClauses = 0;
+
+    /**
+     * Number of variables of the last encoding of the problem.
+     */
+    private int nbVariables = 0;
+
+    /**
+     * Encoding of the exclusion axioms.
+     */
+    private ExclusionEncoding exclusionEncoding = ExclusionEncoding.COMPLETE;
+
+    /**
+     * Return the plan found as a parallel plan (one step per time step of the
+     * encoding) instead of a sequential plan. As long as the exclusion axioms
+     * allow one action per time step, each step of this plan has one action.
+     */
+    private boolean parallelPlan = false;
+
     /**
      * Instantiates the planning problem from a parsed problem.
      *
@@ -110,6 +141,7 @@ public class SAT extends AbstractPlanner<ADLProblem> {
         LOGGER.info("Instantiate ADL problem");
         final ADLProblem pb = new ADLProblem(problem);
         pb.instantiate();
+        this.encodingIndex = new EncodingIndex(pb);
         return pb;
     }
 
@@ -145,6 +177,74 @@ public class SAT extends AbstractPlanner<ADLProblem> {
         this.sizePlan = sizePlan;
     }
 
+    /**
+     * Command line option to set the encoding of the exclusion axioms.
+     *
+     * @param exclusionEncoding Encoding of the exclusion axioms
+     */
+    @CommandLine.Option(names = { "-e",
+            "--exclusion-encoding" }, paramLabel = "<exclusionEncoding>", description = "Set the encoding of the exclusion axioms: ${COMPLETION-CANDIDATES} (preset COMPLETE)")
+    public void setExclusionEncoding(final ExclusionEncoding exclusionEncoding) {
+        this.exclusionEncoding = exclusionEncoding;
+    }
+
+    /**
+     * Command line option to return the plan found as a parallel plan (the actions
+     * executed at the same time step of the encoding are in the same step of the
+     * plan, ordered by their index in the problem). Both encodings of the
+     * exclusion axioms allow at most one action per time step, so each step of
+     * the plan has a single action and the plan lists the same actions as the
+     * sequential plan.
+     *
+     * @param parallelPlan True to return a parallel plan
+     */
+    @CommandLine.Option(names = { "-p",
+            "--parallel-plan" }, description = "Return the plan found as a parallel plan (one step per time step of the encoding). The exclusion axioms allow one action per time step, so each step has one action")
+    public void setParallelPlan(final boolean parallelPlan) {
+        this.parallelPlan = parallelPlan;
+    }
+
+    /**
+     * Returns the encoding of the exclusion axioms. It can differ from the
+     * encoding given in the command line if the planner had to switch to a cheaper
+     * encoding to fit in memory.
+     *
+     * @return Encoding of the exclusion axioms
+     */
+    public ExclusionEncoding getExclusionEncoding() {
+        return this.exclusionEncoding;
+    }
+
+    /**
+     * Returns the length of the plan (i.e maximum number of actions) of the last
+     * encoding of the problem. Once a plan is found, this is the size of the
+     * bounding problem which has been solved.
+     *
+     * @return Length of the plan
+     */
+    public int getSizePlan() {
+        return this.sizePlan;
+    }
+
+    /**
+     * Returns the number of clauses of the last encoding of the problem.
+     *
+     * @return Number of clauses
+     */
+    public int getNbClauses() {
+        return this.nbClauses;
+    }
+
+    /**
+     * Returns the number of variables of the last encoding of the problem
+     * (including the auxiliary variables).
+     *
+     * @return Number of variables
+     */
+    public int getNbVariables() {
+        return this.nbVariables;
+    }
+
     /**
      * Write a plan to the full path specified by the variable outputFullFileName
      * which can be set with the command line option: --write-plan-to.
@@ -273,29 +373,18 @@ public class SAT extends AbstractPlanner<ADLProblem> {
     }
 
     /**
-     * Given an unique ID (each state and each action are given an unique ID for
-     * each
-     * time step of the problem to allow the encoding of the problem into a CNF
-     * formula), find the action linked to this ID.
-     * 
-     * @param problem        The problem to solve
-     * @param actionUniqueID Unique ID of an action
-     * @return The action object linked to this ID if exist, else null
+     * Returns the index of the preconditions and effects of the problem. The
+     * index is built once after the instantiation of the problem and then shared
+     * by all the encoders for all the plan sizes.
+     *
+     * @param problem The problem to solve
+     * @return The index of the problem
      */
-    public Action getActionWithIdx(ADLProblem problem, int actionUniqueID) {
-
-        if (actionUniqueID <= 0) {
-            return null;
-        }
-
-        int idx = (actionUniqueID - 1) % (problem.getFluents().size() + problem.getActions().size());
-
-        if (idx >= problem.getFluents().size()) {
-            return problem.getActions().get(idx - problem.getFluents().size());
-        } else {
-            // This is a fluent, not an action
-            return null;
+    public EncodingIndex getEncodingIndex(final ADLProblem problem) {
+        if (this.encodingIndex == null || !this.encodingIndex.isBuiltFor(problem)) {
+            this.encodingIndex = new EncodingIndex(problem);
         }
+        return this.encodingIndex;
     }
 
     /**
@@ -307,33 +396,21 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      */
     public Vec<IVecInt> encodeInitialState(final ADLProblem problem, int planSize) {
 
-        Vec<IVecInt> clausesInitState = new Vec<IVecInt>();
+        final EncodingIndex index = getEncodingIndex(problem);
+
+        Vec<IVecInt> clausesInitState = new Vec<IVecInt>(index.getNbFluents());
 
         // Get all the fluents at the initial state
         BitVector initStatePosFluents = problem.getInitialState().getPositiveFluents();
 
-        HashSet<Integer> fluentsNotInInitState = new HashSet<Integer>();
-        for (int i = 0; i < problem.getFluents().size(); i++) {
-            fluentsNotInInitState.add(i);
-        }
-
-        for (int p = initStatePosFluents.nextSetBit(0); p >= 0; p = initStatePosFluents.nextSetBit(p + 1)) {
-            Fluent f = problem.getFluents().get(p);
-            // prettyPrintFluent(f, problem);
-
-            fluentsNotInInitState.remove(p);
-
-            // Add the fluent into the clauseInitState
-            int idxFluent = getFluentUniqueIDforTimeStep(problem, f, 0);
-            VecInt clause = new VecInt(new int[] { idxFluent });
-            clausesInitState.push(clause);
-
-            initStatePosFluents.set(p);
-        }
-
-        for (Integer stateNotInInitState : fluentsNotInInitState) {
-            VecInt clause = new VecInt(new int[] { -(stateNotInInitState + 1) });
-            clausesInitState.push(clause);
+        // Each fluent at the initial state is true, all the others are false
+        for (int p = 0; p < index.getNbFluents(); p++) {
+            int idxFluent = index.fluentVariable(p, 0);
+            if (initStatePosFluents.get(p)) {
+                clausesInitState.push(new VecInt(new int[] { idxFluent }));
+            } else {
+                clausesInitState.push(new VecInt(new int[] { -idxFluent }));
+            }
         }
 
         LOGGER.debug("Clause init state: {}\n", clausesInitState);
@@ -350,21 +427,27 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      */
     public Vec<IVecInt> encodeFinalState(final ADLProblem problem, int planSize) {
 
+        final EncodingIndex index = getEncodingIndex(problem);
+
         Vec<IVecInt> clausesGoalState = new Vec<IVecInt>();
 
         // Get the bit vector that contains all the fluents at the goal state
         BitVector goalPosFluents = problem.getGoal().getPositiveFluents();
 
         for (int p = goalPosFluents.nextSetBit(0); p >= 0; p = goalPosFluents.nextSetBit(p + 1)) {
-            Fluent f = problem.getFluents().get((int) p);
-            // prettyPrintFluent(f, problem);
-
             // Add the fluent into the clauseGoalState
-            int idxFluent = getFluentUniqueIDforTimeStep(problem, f, planSize);
+            int idxFluent = index.fluentVariable(p, planSize);
             VecInt clause = new VecInt(new int[] { idxFluent });
             clausesGoalState.push(clause);
+        }
+
+        // And the fluents which must be false at the goal state
+        BitVector goalNegFluents = problem.getGoal().getNegativeFluents();
 
-            goalPosFluents.set(p);
+        for (int p = goalNegFluents.nextSetBit(0); p >= 0; p = goalNegFluents.nextSetBit(p + 1)) {
+            int idxFluent = index.fluentVariable(p, planSize);
+            VecInt clause = new VecInt(new int[] { -idxFluent });
+            clausesGoalState.push(clause);
         }
 
         return clausesGoalState;
@@ -379,67 +462,57 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      */
     public Vec<IVecInt> encodeActions(final ADLProblem problem, int planSize) {
 
-        Vec<IVecInt> clausesActions = new Vec<IVecInt>();
+        final EncodingIndex index = getEncodingIndex(problem);
+        final EncodingIndex.Table precondPos = index.getPositivePreconditions();
+        final EncodingIndex.Table precondNeg = index.getNegativePreconditions();
+        final EncodingIndex.Table effectPos = index.getPositiveEffects();
+        final EncodingIndex.Table effectNeg = index.getNegativeEffects();
+        final EncodingIndex.Table guards = index.getNegativeEffectGuards();
 
-        Fluent f;
+        Vec<IVecInt> clausesActions = new Vec<IVecInt>(planSize * (precondPos.totalSize()
+                + precondNeg.totalSize() + effectPos.totalSize() + effectNeg.totalSize()));
 
         for (int timeStep = 0; timeStep < planSize; timeStep++) {
-            for (Action action : problem.getActions()) {
+            for (int a = 0; a < index.getNbActions(); a++) {
 
                 /*
                  * For each action at each time step, we have: a_i -> (^p for p in
                  * precondition__a_i) ^ (^e+ for e+ in effect+__a_i+1) ^ (^e- for e- in
                  * effect-__a_i+1)
                  */
-                int actionUniqueIDforTimeStep = getActionUniqueIDforTimeStep(problem, action, timeStep); // Gives a_i
-
-                // prettyPrintAction(action, problem);
+                int actionUniqueIDforTimeStep = index.actionVariable(a, timeStep); // Gives a_i
 
                 // Get the states preconditions
-                BitVector precondPos = action.getPrecondition().getPositiveFluents();
-                for (int p = precondPos.nextSetBit(0); p >= 0; p = precondPos.nextSetBit(p + 1)) {
-                    f = problem.getFluents().get(p);
-
-                    // Add the fluent
-                    int fluentUniqueIDforTimeStep = getFluentUniqueIDforTimeStep(problem, f, timeStep);
+                for (int k = precondPos.start(a); k < precondPos.end(a); k++) {
+                    int fluentUniqueIDforTimeStep = index.fluentVariable(precondPos.get(k), timeStep);
                     VecInt clause = new VecInt(new int[] { -actionUniqueIDforTimeStep, fluentUniqueIDforTimeStep });
                     clausesActions.push(clause);
-                    precondPos.set(p);
                 }
 
-                BitVector precondNeg = action.getPrecondition().getNegativeFluents();
-                for (int p = precondNeg.nextSetBit(0); p >= 0; p = precondNeg.nextSetBit(p + 1)) {
-                    f = problem.getFluents().get(p);
-
-                    // Add the fluent
-                    int idxFluent = getFluentUniqueIDforTimeStep(problem, f, timeStep);
+                for (int k = precondNeg.start(a); k < precondNeg.end(a); k++) {
+                    int idxFluent = index.fluentVariable(precondNeg.get(k), timeStep);
                     VecInt clause = new VecInt(new int[] { -actionUniqueIDforTimeStep, -idxFluent });
                     clausesActions.push(clause);
-                    precondNeg.set(p);
                 }
 
-                BitVector effectPos = action.getUnconditionalEffect().getPositiveFluents();
-                for (int p = effectPos.nextSetBit(0); p >= 0; p = effectPos.nextSetBit(p + 1)) {
-                    f = problem.getFluents().get(p);
-
-                    // Add the fluent
-                    int idxFluent = getFluentUniqueIDforTimeStep(problem, f, timeStep + 1);
+                for (int k = effectPos.start(a); k < effectPos.end(a); k++) {
+                    int idxFluent = index.fluentVariable(effectPos.get(k), timeStep + 1);
                     VecInt clause = new VecInt(new int[] { -actionUniqueIDforTimeStep, idxFluent });
                     clausesActions.push(clause);
-
-                    effectPos.set(p);
                 }
 
-                BitVector effectNeg = action.getUnconditionalEffect().getNegativeFluents();
-                for (int p = effectNeg.nextSetBit(0); p >= 0; p = effectNeg.nextSetBit(p + 1)) {
-                    f = problem.getFluents().get(p);
-
-                    // Add the fluent
-                    int idxFluent = getFluentUniqueIDforTimeStep(problem, f, timeStep + 1);
-                    VecInt clause = new VecInt(new int[] { -actionUniqueIDforTimeStep, -idxFluent });
-                    clausesActions.push(clause);
-
-                    effectNeg.set(p);
+                // A deleted fluent is only false if no conditional effect of the action
+                // adds it back: a_i ^ ~f_e... -> ~e-
+                for (int k = effectNeg.start(a); k < effectNeg.end(a); k++) {
+                    int idxFluent = index.fluentVariable(effectNeg.get(k), timeStep + 1);
+                    int[] literals = new int[2 + guards.size(k)];
+                    int l = 0;
+                    literals[l++] = -actionUniqueIDforTimeStep;
+                    for (int g = guards.start(k); g < guards.end(k); g++) {
+                        literals[l++] = index.effectVariable(guards.get(g), timeStep, planSize);
+                    }
+                    literals[l++] = -idxFluent;
+                    clausesActions.push(new VecInt(literals));
                 }
             }
         }
@@ -450,83 +523,158 @@ public class SAT extends AbstractPlanner<ADLProblem> {
     }
 
     /**
-     * Encode the explanatory frame axioms as a CNF formula in dimacs format.
+     * Encode the conditional effects of the actions as a CNF formula in dimacs
+     * format. For each conditional effect e of an action a at each time step, an
+     * auxiliary variable f_e is true if and only if the effect fires: f_e <-> (a_i
+     * ^ (^c for c in condition__e_i)), and f_e -> (^e+ for e+ in effect+__e_i+1) ^
+     * (^e- for e- in effect-__e_i+1). As the deletes are applied before the adds,
+     * a fluent deleted by e is only false if no other conditional effect of the
+     * action adds it back. The number of clauses is linear in the size of the
+     * conditional effects.
      * 
      * @param problem  The problem to solve
      * @param planSize Size of the plan
      * @return A vector of set (VecInt) of litterals in the Dimacs format
      */
-    public Vec<IVecInt> encodeExplanatoryFrameAxioms(final ADLProblem problem, int planSize) {
+    public Vec<IVecInt> encodeConditionalEffects(final ADLProblem problem, int planSize) {
 
-        Vec<IVecInt> clausesExplanatoryFrameAxioms = new Vec<IVecInt>();
+        final EncodingIndex index = getEncodingIndex(problem);
+        final EncodingIndex.Table conditionPos = index.getPositiveEffectConditions();
+        final EncodingIndex.Table conditionNeg = index.getNegativeEffectConditions();
+        final EncodingIndex.Table effectPos = index.getPositiveConditionalEffects();
+        final EncodingIndex.Table effectNeg = index.getNegativeConditionalEffects();
+        final EncodingIndex.Table guards = index.getNegativeConditionalEffectGuards();
 
-        // For each state, initialize two lists which will contains all the actions
-        // that have this state as positive effects or negative effects
-        ArrayList<Action>[] positiveEffectOnFluent = (ArrayList<Action>[]) new ArrayList[problem.getFluents().size()];
-        ArrayList<Action>[] negativeEffectOnFluent = (ArrayList<Action>[]) new ArrayList[problem.getFluents().size()];
+        Vec<IVecInt> clausesConditionalEffects = new Vec<IVecInt>();
 
-        for (int i = 0; i < problem.getFluents().size(); i++) {
-            positiveEffectOnFluent[i] = new ArrayList<Action>();
-            negativeEffectOnFluent[i] = new ArrayList<Action>();
+        for (int timeStep = 0; timeStep < planSize; timeStep++) {
+            for (int e = 0; e < index.getNbConditionalEffects(); e++) {
+
+                int effectFired = index.effectVariable(e, timeStep, planSize);
+                int action = index.actionVariable(index.getConditionalEffectAction(e), timeStep);
+
+                // f_e -> a_i
+                clausesConditionalEffects.push(new VecInt(new int[] { -effectFired, action }));
+
+                // f_e -> c for each fluent of the condition, and (a_i ^ condition) -> f_e
+                int[] fired = new int[2 + conditionPos.size(e) + conditionNeg.size(e)];
+                int l = 0;
+                fired[l++] = -action;
+                for (int k = conditionPos.start(e); k < conditionPos.end(e); k++) {
+                    int idxFluent = index.fluentVariable(conditionPos.get(k), timeStep);
+                    clausesConditionalEffects.push(new VecInt(new int[] { -effectFired, idxFluent }));
+                    fired[l++] = -idxFluent;
+                }
+                for (int k = conditionNeg.start(e); k < conditionNeg.end(e); k++) {
+                    int idxFluent = index.fluentVariable(conditionNeg.get(k), timeStep);
+                    clausesConditionalEffects.push(new VecInt(new int[] { -effectFired, -idxFluent }));
+                    fired[l++] = idxFluent;
+                }
+                fired[l++] = effectFired;
+                clausesConditionalEffects.push(new VecInt(fired));
+
+                // f_e -> effects at the next time step
+                for (int k = effectPos.start(e); k < effectPos.end(e); k++) {
+                    int idxFluent = index.fluentVariable(effectPos.get(k), timeStep + 1);
+                    clausesConditionalEffects.push(new VecInt(new int[] { -effectFired, idxFluent }));
+                }
+                for (int k = effectNeg.start(e); k < effectNeg.end(e); k++) {
+                    int idxFluent = index.fluentVariable(effectNeg.get(k), timeStep + 1);
+                    int[] literals = new int[2 + guards.size(k)];
+                    l = 0;
+                    literals[l++] = -effectFired;
+                    for (int g = guards.start(k); g < guards.end(k); g++) {
+                        literals[l++] = index.effectVariable(guards.get(g), timeStep, planSize);
+                    }
+                    literals[l++] = -idxFluent;
+                    clausesConditionalEffects.push(new VecInt(literals));
+                }
+            }
         }
 
-        for (Action action : problem.getActions()) {
-            BitVector effectPos = action.getUnconditionalEffect().getPositiveFluents();
+        return clausesConditionalEffects;
+    }
 
-            for (int p = effectPos.nextSetBit(0); p >= 0; p = effectPos.nextSetBit(p + 1)) {
-                positiveEffectOnFluent[p].add(action);
-                effectPos.set(p);
-            }
+    /**
+     * Encode the explanatory frame axioms as a CNF formula in dimacs format. A
+     * fluent can only change if an action with this fluent as unconditional effect
+     * is executed or if a conditional effect with this fluent as effect fires. An
+     * action which deletes and adds the same fluent is not listed as deleting it
+     * (see {@link EncodingIndex}), so a fluent may have no action to explain one
+     * of its changes: the clause is then binary and the fluent keeps its value.
+     * 
+     * @param problem  The problem to solve
+     * @param planSize Size of the plan
+     * @return A vector of set (VecInt) of litterals in the Dimacs format
+     */
+    public Vec<IVecInt> encodeExplanatoryFrameAxioms(final ADLProblem problem, int planSize) {
 
-            BitVector effectNeg = action.getUnconditionalEffect().getNegativeFluents();
+        final EncodingIndex index = getEncodingIndex(problem);
 
-            for (int p = effectNeg.nextSetBit(0); p >= 0; p = effectNeg.nextSetBit(p + 1)) {
-                negativeEffectOnFluent[p].add(action);
-                effectNeg.set(p);
-            }
-        }
+        // For each state, the index contains all the actions that have this state as
+        // positive effects or negative effects
+        final EncodingIndex.Table positiveEffectOnFluent = index.getActionsWithPositiveEffect();
+        final EncodingIndex.Table negativeEffectOnFluent = index.getActionsWithNegativeEffect();
+        final EncodingIndex.Table positiveConditionalEffectOnFluent = index.getConditionalEffectsWithPositiveEffect();
+        final EncodingIndex.Table negativeConditionalEffectOnFluent = index.getConditionalEffectsWithNegativeEffect();
 
-        // Now, we can construct the explanatory frame axioms
-        for (int stateIdx = 0; stateIdx < problem.getFluents().size(); stateIdx++) {
-            for (int timeStep = 0; timeStep < planSize; timeStep++) {
-                if (positiveEffectOnFluent[stateIdx].size() != 0) {
-                    // Add this clause in CNF format
+        Vec<IVecInt> clausesExplanatoryFrameAxioms = new Vec<IVecInt>();
 
-                    Fluent f = problem.getFluents().get(stateIdx);
-                    VecInt clause = new VecInt();
+        for (int stateIdx = 0; stateIdx < index.getNbFluents(); stateIdx++) {
+            final int nbPositive = positiveEffectOnFluent.size(stateIdx)
+                    + positiveConditionalEffectOnFluent.size(stateIdx);
+            final int nbNegative = negativeEffectOnFluent.size(stateIdx)
+                    + negativeConditionalEffectOnFluent.size(stateIdx);
 
-                    // prettyPrintFluent(f, problem);
+            for (int timeStep = 0; timeStep < planSize; timeStep++) {
+                final int fluentNow = index.fluentVariable(stateIdx, timeStep);
+                final int fluentNext = index.fluentVariable(stateIdx, timeStep + 1);
 
-                    // Add the fluent into the clause
-                    clause.push(getFluentUniqueIDforTimeStep(problem, f, timeStep));
-                    clause.push(-getFluentUniqueIDforTimeStep(problem, f, timeStep + 1));
+                // The fluent can only be added by an action or a conditional effect
+                int[] added = new int[2 + nbPositive];
+                int l = 0;
 
-                    // And add all the actions which have this fluent has positive effect
-                    for (Action action : positiveEffectOnFluent[stateIdx]) {
-                        // prettyPrintAction(action, problem);
-                        clause.push(getActionUniqueIDforTimeStep(problem, action, timeStep));
-                    }
+                // Add the fluent into the clause
+                added[l++] = fluentNow;
+                added[l++] = -fluentNext;
 
-                    clausesExplanatoryFrameAxioms.push(clause);
+                // And add all the actions which have this fluent has positive effect
+                for (int k = positiveEffectOnFluent.start(stateIdx); k < positiveEffectOnFluent
+                        .end(stateIdx); k++) {
+                    added[l++] = index.actionVariable(positiveEffectOnFluent.get(k), timeStep);
                 }
 
-                if (negativeEffectOnFluent[stateIdx].size() != 0) {
-                    // Add this clause in CNF format
+                // And all the conditional effects which have this fluent has positive effect
+                for (int k = positiveConditionalEffectOnFluent.start(stateIdx); k < positiveConditionalEffectOnFluent
+                        .end(stateIdx); k++) {
+                    added[l++] = index.effectVariable(positiveConditionalEffectOnFluent.get(k), timeStep,
+                            planSize);
+                }
 
-                    Fluent f = problem.getFluents().get(stateIdx);
-                    VecInt clause = new VecInt();
+                clausesExplanatoryFrameAxioms.push(new VecInt(added));
 
-                    // Add the fluent into the clause
-                    clause.push(-getFluentUniqueIDforTimeStep(problem, f, timeStep));
-                    clause.push(getFluentUniqueIDforTimeStep(problem, f, timeStep + 1));
+                // And only be deleted by an action or a conditional effect
+                int[] deleted = new int[2 + nbNegative];
+                l = 0;
 
-                    // And add all the actions which have this fluent has negative effect
-                    for (Action action : negativeEffectOnFluent[stateIdx]) {
-                        clause.push(getActionUniqueIDforTimeStep(problem, action, timeStep));
-                    }
+                // Add the fluent into the clause
+                deleted[l++] = -fluentNow;
+                deleted[l++] = fluentNext;
+
+                // And add all the actions which have this fluent has negative effect
+                for (int k = negativeEffectOnFluent.start(stateIdx); k < negativeEffectOnFluent
+                        .end(stateIdx); k++) {
+                    deleted[l++] = index.actionVariable(negativeEffectOnFluent.get(k), timeStep);
+                }
 
-                    clausesExplanatoryFrameAxioms.push(clause);
+                // And all the conditional effects which have this fluent has negative effect
+                for (int k = negativeConditionalEffectOnFluent.start(stateIdx); k < negativeConditionalEffectOnFluent
+                        .end(stateIdx); k++) {
+                    deleted[l++] = index.effectVariable(negativeConditionalEffectOnFluent.get(k), timeStep,
+                            planSize);
                 }
+
+                clausesExplanatoryFrameAxioms.push(new VecInt(deleted));
             }
         }
 
@@ -542,18 +690,18 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      */
     public Vec<IVecInt> encodeCompleteExclusionAxioms(final ADLProblem problem, int planSize) {
 
-        Vec<IVecInt> clausesCompleteExclusionAxioms = new Vec<IVecInt>();
+        final EncodingIndex index = getEncodingIndex(problem);
+        final int nbActions = index.getNbActions();
+        final int offsetToNextActionIdx = index.getNbVariablesPerStep();
 
-        for (int iteratorAction1 = 0; iteratorAction1 < problem.getActions().size(); iteratorAction1++) {
-            for (int iteratorAction2 = 0; iteratorAction2 < iteratorAction1; iteratorAction2++) {
+        Vec<IVecInt> clausesCompleteExclusionAxioms = new Vec<IVecInt>(
+                (int) Math.min(Integer.MAX_VALUE - 8, (long) nbActions * (nbActions - 1) / 2 * planSize));
 
-                Action action1 = problem.getActions().get(iteratorAction1);
-                Action action2 = problem.getActions().get(iteratorAction2);
-
-                int initAction1Idx = getActionUniqueIDforTimeStep(problem, action1, 0);
-                int initAction2Idx = getActionUniqueIDforTimeStep(problem, action2, 0);
+        for (int iteratorAction1 = 0; iteratorAction1 < nbActions; iteratorAction1++) {
+            for (int iteratorAction2 = 0; iteratorAction2 < iteratorAction1; iteratorAction2++) {
 
-                int offsetToNextActionIdx = problem.getActions().size() + problem.getFluents().size();
+                int initAction1Idx = index.actionVariable(iteratorAction1, 0);
+                int initAction2Idx = index.actionVariable(iteratorAction2, 0);
 
                 for (int timeStep = 0; timeStep < planSize; timeStep++) {
 
@@ -569,6 +717,52 @@ public class SAT extends AbstractPlanner<ADLProblem> {
         return clausesCompleteExclusionAxioms;
     }
 
+    /**
+     * Encode the exclusion axioms with a sequential counter as a CNF formula in
+     * dimacs format. For each time step, the auxiliary variable s_i is true if one
+     * of the actions a_0 to a_i is executed, and we have: a_i -> s_i, s_i-1 -> s_i
+     * and a_i -> not s_i-1.
+     * 
+     * @param problem  The problem to solve
+     * @param planSize Size of the plan
+     * @return A vector of set (VecInt) of litterals in the Dimacs format
+     */
+    public Vec<IVecInt> encodeSequentialExclusionAxioms(final ADLProblem problem, int planSize) {
+
+        final EncodingIndex index = getEncodingIndex(problem);
+        final int nbActions = index.getNbActions();
+
+        if (nbActions < 2) {
+            return new Vec<IVecInt>();
+        }
+
+        Vec<IVecInt> clausesExclusionAxioms = new Vec<IVecInt>((3 * nbActions - 4) * planSize);
+
+        for (int timeStep = 0; timeStep < planSize; timeStep++) {
+
+            // a_0 -> s_0
+            int previousCounter = index.exclusionVariable(0, timeStep, planSize);
+            clausesExclusionAxioms.push(new VecInt(new int[] { -index.actionVariable(0, timeStep), previousCounter }));
+
+            for (int a = 1; a < nbActions - 1; a++) {
+                int action = index.actionVariable(a, timeStep);
+                int counter = index.exclusionVariable(a, timeStep, planSize);
+
+                clausesExclusionAxioms.push(new VecInt(new int[] { -action, counter }));
+                clausesExclusionAxioms.push(new VecInt(new int[] { -previousCounter, counter }));
+                clausesExclusionAxioms.push(new VecInt(new int[] { -action, -previousCounter }));
+
+                previousCounter = counter;
+            }
+
+            // a_n -> not s_n-1
+            clausesExclusionAxioms.push(
+                    new VecInt(new int[] { -index.actionVariable(nbActions - 1, timeStep), -previousCounter }));
+        }
+
+        return clausesExclusionAxioms;
+    }
+
     /**
      * Use a SAT solver to check if a problem is satisfiable and to find a model.
      * Taken from
@@ -589,8 +783,7 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      *                          find a solution in the timeout
      */
     public int[] solverSAT(Vec<IVecInt> allClauses, ADLProblem problem) throws TimeoutException {
-        final int MAXVAR = (problem.getFluents().size() + problem.getActions().size()) * this.sizePlan
-                + problem.getFluents().size();
+        final int MAXVAR = this.nbVariables;
 
         LOGGER.debug("Number clauses: {}\n", allClauses.size());
 
@@ -637,23 +830,36 @@ public class SAT extends AbstractPlanner<ADLProblem> {
         Vec<IVecInt> clausesGoalState = encodeFinalState(problem, planSize);
         LOGGER.info("Encode the actions into clauses\n");
         Vec<IVecInt> clausesActions = encodeActions(problem, planSize);
+        LOGGER.info("Encode the conditional effects into clauses\n");
+        Vec<IVecInt> clausesConditionalEffects = encodeConditionalEffects(problem, planSize);
         LOGGER.info("Encode the explanatory frame axioms into clauses\n");
         Vec<IVecInt> clausesExplanatoryFrameAxioms = encodeExplanatoryFrameAxioms(problem, planSize);
-        LOGGER.info("Encode complete excusion axiom into clauses\n");
-        Vec<IVecInt> clausesCompleteExclusionAxioms = encodeCompleteExclusionAxioms(problem, planSize);
+        Vec<IVecInt> clausesCompleteExclusionAxioms;
+        final EncodingIndex index = getEncodingIndex(problem);
+        if (this.exclusionEncoding == ExclusionEncoding.SEQUENTIAL) {
+            LOGGER.info("Encode sequential exclusion axiom into clauses\n");
+            clausesCompleteExclusionAxioms = encodeSequentialExclusionAxioms(problem, planSize);
+        } else {
+            LOGGER.info("Encode complete excusion axiom into clauses\n");
+            clausesCompleteExclusionAxioms = encodeCompleteExclusionAxioms(problem, planSize);
+        }
+        this.nbVariables = index.getNbVariables(planSize, this.exclusionEncoding);
 
         // Merge all the clauses into a single vector
         Vec<IVecInt> allClauses = new Vec<IVecInt>(clausesInitState.size() + clausesGoalState.size()
-                + clausesActions.size() + clausesExplanatoryFrameAxioms.size() + clausesCompleteExclusionAxioms.size());
+                + clausesActions.size() + clausesConditionalEffects.size() + clausesExplanatoryFrameAxioms.size()
+                + clausesCompleteExclusionAxioms.size());
         clausesInitState.copyTo(allClauses);
         clausesGoalState.copyTo(allClauses);
         clausesActions.copyTo(allClauses);
+        clausesConditionalEffects.copyTo(allClauses);
         clausesExplanatoryFrameAxioms.copyTo(allClauses);
         clausesCompleteExclusionAxioms.copyTo(allClauses);
 
         LOGGER.debug("Init state size: {}\n", clausesInitState.size());
         LOGGER.debug("Goal state size: {}\n", clausesGoalState.size());
         LOGGER.debug("Action state size: {}\n", clausesActions.size());
+        LOGGER.debug("Conditional effects size: {}\n", clausesConditionalEffects.size());
         LOGGER.debug("clausesExplanatoryFrameAxioms state size: {}\n", clausesExplanatoryFrameAxioms.size());
         LOGGER.debug("clausesCompleteExclusionAxioms state size: {}\n", clausesCompleteExclusionAxioms.size());
 
@@ -668,17 +874,87 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      * @return the plan construct from the model
      */
     public Plan constructPlanFromModel(int[] model, ADLProblem problem) {
-        Plan plan = new SequentialPlan();
-        int idxActionInPlan = 0;
-        for (Integer idx : model) {
-            Action a = getActionWithIdx(problem, idx);
-            if (a != null) {
-                // prettyPrintAction(a, problem);
-                plan.add(idxActionInPlan, a);
-                idxActionInPlan++;
+        // Only the action variables of each time step are read from the model
+        BitSet actions = ModelDecoder.decodeActions(model, getEncodingIndex(problem), this.sizePlan);
+        if (this.parallelPlan) {
+            return ModelDecoder.toParallelPlan(actions, problem);
+        }
+        return ModelDecoder.toSequentialPlan(actions, problem);
+    }
+
+    /**
+     * Returns the memory which can still be allocated on the heap.
+     *
+     * @param collectGarbage Run the garbage collector before measuring the memory
+     *                       (the clauses of the previous plan sizes are usually
+     *                       still on the heap)
+     * @return The available memory in bytes
+     */
+    private static long getAvailableMemory(boolean collectGarbage) {
+        if (collectGarbage) {
+            System.gc();
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /**
+     * Check that the encoding of the problem for the current plan size fits in
+     * memory before building it. If it does not fit, the planner switches to the
+     * sequential encoding of the exclusion axioms, and if it still does not fit,
+     * the plan size is capped to the maximum plan size which fits in memory.
+     *
+     * @param problem          The problem to solve
+     * @param previousPlanSize The last plan size which has been tried (0 if none)
+     * @return True if the problem can be encoded, false if there is not enough
+     *         memory to encode a plan size larger than the previous one
+     */
+    private boolean prepareEncodingForMemory(final ADLProblem problem, final int previousPlanSize) {
+        final EncodingIndex index = getEncodingIndex(problem);
+        final EncodingEstimate estimate = EncodingEstimate.estimate(problem, index, this.sizePlan,
+                this.exclusionEncoding);
+        LOGGER.info("Estimated size of the encoding: {}\n", estimate);
+
+        long availableMemory = getAvailableMemory(false);
+        if (estimate.fitsIn(availableMemory)) {
+            return true;
+        }
+        availableMemory = getAvailableMemory(true);
+        if (estimate.fitsIn(availableMemory)) {
+            return true;
+        }
+
+        if (this.exclusionEncoding != ExclusionEncoding.SEQUENTIAL) {
+            final EncodingEstimate cheaperEstimate = EncodingEstimate.estimate(problem, index, this.sizePlan,
+                    ExclusionEncoding.SEQUENTIAL);
+            if (cheaperEstimate.fitsIn(availableMemory)) {
+                LOGGER.warn(
+                        "The encoding requires ~{} MB but only {} MB are available. Switch to the {} encoding of the exclusion axioms: {}\n",
+                        estimate.getEstimatedBytes() >> 20, availableMemory >> 20, ExclusionEncoding.SEQUENTIAL,
+                        cheaperEstimate);
+                this.exclusionEncoding = ExclusionEncoding.SEQUENTIAL;
+                return true;
             }
         }
-        return plan;
+
+        for (ExclusionEncoding encoding : new ExclusionEncoding[] { this.exclusionEncoding,
+                ExclusionEncoding.SEQUENTIAL }) {
+            final int maxPlanSize = EncodingEstimate.getMaxPlanSize(problem, index, encoding, availableMemory);
+            if (maxPlanSize > previousPlanSize && maxPlanSize < this.sizePlan) {
+                LOGGER.warn(
+                        "The encoding for a plan of size {} requires ~{} MB but only {} MB are available. Cap the plan size to {} with the {} encoding of the exclusion axioms\n",
+                        this.sizePlan, estimate.getEstimatedBytes() >> 20, availableMemory >> 20, maxPlanSize,
+                        encoding);
+                this.exclusionEncoding = encoding;
+                this.sizePlan = maxPlanSize;
+                return true;
+            }
+        }
+
+        LOGGER.error(
+                "Not enough memory to encode a plan of size {}: {} but only {} MB are available (no plan of size {} or less). Increase the maximum heap size of the JVM (-Xmx)\n",
+                this.sizePlan, estimate, availableMemory >> 20, previousPlanSize);
+        return false;
     }
 
     /**
@@ -691,9 +967,17 @@ public class SAT extends AbstractPlanner<ADLProblem> {
     public Plan solve(final ADLProblem problem) {
 
         int[] model;
+        int previousPlanSize = 0;
 
         while (true) {
 
+            // Check that the encoding fits in memory before building it
+            final int requestedPlanSize = this.sizePlan;
+            if (!prepareEncodingForMemory(problem, previousPlanSize)) {
+                return null;
+            }
+            final boolean cappedPlanSize = this.sizePlan < requestedPlanSize;
+
             LOGGER.info("Encode the model for a plan of maximum size: {}\n", this.sizePlan);
 
             // Encode the problem into its CNF form
@@ -703,6 +987,8 @@ public class SAT extends AbstractPlanner<ADLProblem> {
             this.getStatistics()
                     .setTimeToEncode(this.getStatistics().getTimeToEncode() + (endEncodeTime - beginEncodeTime));
 
+            this.nbClauses = allClauses.size();
+
             LOGGER.info("Number clauses: {}\n", allClauses.size());
             // We have encoded the full problem into its CNF form, now, pass it to the
             // solver
@@ -726,6 +1012,15 @@ public class SAT extends AbstractPlanner<ADLProblem> {
                         "Failed to model a model with a maximum number of actions = {}.\n",
                         this.sizePlan);
 
+                // A larger plan size would not fit in memory
+                if (cappedPlanSize) {
+                    LOGGER.error(
+                            "No plan of size {} or less and not enough memory to encode a larger plan size. Increase the maximum heap size of the JVM (-Xmx)\n",
+                            this.sizePlan);
+                    return null;
+                }
+
+                previousPlanSize = this.sizePlan;
                 this.sizePlan *= 2;
             } else {
                 break;
@@ -750,7 +1045,7 @@ public class SAT extends AbstractPlanner<ADLProblem> {
      * @param args the arguments of the command line.
      */
     public static void main(String[] args) {
-
+        Startup.configure();
         try {
             final SAT planner = new SAT();
             CommandLine cmd = new CommandLine(planner);
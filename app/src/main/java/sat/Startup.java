@@ -0,0 +1,58 @@
+package sat;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+/**
+ * This class prepares the JVM for the main methods of the planner and of the
+ * benchmarks. It must be called before the first planner is created.
+ *
+ * <p>
+ * The startup profile does not initialize log4j or picocli lazily: log4j is
+ * initialized by the static logger of the pddl4j planner before any main method
+ * runs, and picocli parses the command line of every main method. The startup
+ * time is reduced by skipping the attach of JOL (see {@link #configure()}) and
+ * by the class data sharing archive instead.
+ * </p>
+ */
+final class Startup {
+
+    /**
+     * This class only contains static methods.
+     */
+    private Startup() {
+    }
+
+    /**
+     * Avoid the attach of JOL to the JVM. pddl4j measures the memory of the
+     * problem with JOL, which tries by default to attach an agent to the JVM
+     * (several seconds). The sizes of the objects can be computed without it. JOL
+     * is only loaded after the instantiation of the problem, so the properties
+     * can still be set here, unless they have been given on the command line.
+     */
+    static void configure() {
+        setDefaultProperty("jol.skipDynamicAttach", "true");
+        setDefaultProperty("jol.skipHotspotSAAttach", "true");
+    }
+
+    /**
+     * Enable the logs of the main methods which do not run the planner from the
+     * command line. The default configuration of pddl4j disables all the logs;
+     * the planner enables them itself with its option <code>-l</code>.
+     */
+    static void enableLogs() {
+        Configurator.setRootLevel(Level.INFO);
+    }
+
+    /**
+     * Set a system property if it has not been set on the command line.
+     *
+     * @param key   The key of the property
+     * @param value The value of the property
+     */
+    private static void setDefaultProperty(final String key, final String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package sat;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import picocli.CommandLine;
+
+/**
+ * This class implements a benchmark of the startup time of the SAT planner.
+ *
+ * <p>
+ * The planner is launched several times in a new JVM on the same (small)
+ * problem with the default options of the JVM and with the startup profile: the
+ * JVM options given and the class data sharing archive generated by the Gradle
+ * task <code>cdsArchive</code>. For each launch, the time from the launch of the
+ * JVM to the display of the plan (time to first plan) and the total time are
+ * measured. The launches of both modes are interleaved so that both modes are
+ * affected in the same way by the load of the machine. The JVMs are launched
+ * with the classpath of this JVM, which must be the classpath used to generate
+ * the archive.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * StartupBenchmark [-hV] [-n=<nbRuns>] [-a=<archive>] [-j=<jvmArg>]... [<domain> <problem>]
+ *
+ * Parameters:
+ *       <domain>                The domain file (preset benchmarks/gripper/domain.pddl)
+ *       <problem>               The problem file (preset benchmarks/gripper/p01.pddl)
+ *
+ * Options:
+ *   -n, --runs=<nbRuns>         Number of measured launches of each mode (preset 5)
+ *   -a, --archive=<archive>     Class data sharing archive of the startup profile
+ *   -j, --startup-jvm-arg=<jvmArg>  JVM option of the startup profile
+ * }
+ * </pre>
+ *
+ * <p>
+ * Command line example:
+ * </p>
+ *
+ * <pre>
+ * {@code
+ *    ./gradlew startupBenchmark --args="-n 10"
+ * }
+ * </pre>
+ */
+@CommandLine.Command(name = "StartupBenchmark", version = "StartupBenchmark 1.0", description = "Measures the startup time of the SAT planner.", sortOptions = false, mixinStandardHelpOptions = true, headerHeading = "Usage:%n", synopsisHeading = "%n", descriptionHeading = "%nDescription:%n%n", parameterListHeading = "%nParameters:%n", optionListHeading = "%nOptions:%n")
+public class StartupBenchmark implements Callable<Integer> {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(StartupBenchmark.class.getName());
+
+    /**
+     * The specification of the command, used to report the incorrect options.
+     */
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    /**
+     * The line displayed by the planner before the plan found.
+     */
+    private static final String PLAN_FOUND = "found plan as follows";
+
+    /**
+     * The domain file.
+     */
+    @CommandLine.Parameters(index = "0", arity = "0..1", paramLabel = "<domain>", description = "The domain file (preset benchmarks/gripper/domain.pddl)")
+    private File domainFile = new File("benchmarks/gripper/domain.pddl");
+
+    /**
+     * The problem file.
+     */
+    @CommandLine.Parameters(index = "1", arity = "0..1", paramLabel = "<problem>", description = "The problem file (preset benchmarks/gripper/p01.pddl)")
+    private File problemFile = new File("benchmarks/gripper/p01.pddl");
+
+    /**
+     * Number of measured launches of each mode.
+     */
+    @CommandLine.Option(names = { "-n",
+            "--runs" }, paramLabel = "<nbRuns>", description = "Number of measured launches of each mode (preset 5)")
+    private int nbRuns = 5;
+
+    /**
+     * Class data sharing archive of the startup profile.
+     */
+    @CommandLine.Option(names = { "-a",
+            "--archive" }, paramLabel = "<archive>", description = "Class data sharing archive of the startup profile")
+    private File archive = null;
+
+    /**
+     * JVM options of the startup profile.
+     */
+    @CommandLine.Option(names = { "-j",
+            "--startup-jvm-arg" }, paramLabel = "<jvmArg>", description = "JVM option of the startup profile")
+    private List<String> startupJvmArgs = new ArrayList<String>();
+
+    /**
+     * The times measured for a launch of the planner.
+     */
+    private static final class Launch {
+
+        /**
+         * Time from the launch of the JVM to the display of the plan in ms (-1 if
+         * no plan has been found).
+         */
+        private long timeToPlan = -1;
+
+        /**
+         * Time from the launch of the JVM to its end in ms.
+         */
+        private long totalTime;
+    }
+
+    /**
+     * Launch the planner in a new JVM and measure its times.
+     *
+     * @param jvmArgs The options of the JVM
+     * @return The times measured
+     * @throws IOException          If the JVM cannot be launched
+     * @throws InterruptedException If the benchmark has been interrupted
+     */
+    private Launch launch(final List<String> jvmArgs) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SAT.class.getName());
+        command.add(this.domainFile.getPath());
+        command.add(this.problemFile.getPath());
+
+        final ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.redirectErrorStream(true);
+
+        final Launch launch = new Launch();
+        final long beginTime = System.nanoTime();
+        final Process process = processBuilder.start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (launch.timeToPlan < 0 && line.contains(PLAN_FOUND)) {
+                    launch.timeToPlan = (System.nanoTime() - beginTime) / 1000000;
+                }
+            }
+        }
+        process.waitFor();
+        launch.totalTime = (System.nanoTime() - beginTime) / 1000000;
+        return launch;
+    }
+
+    /**
+     * Returns the median of a list of times.
+     *
+     * @param times The times (not empty)
+     * @return The median of the times
+     */
+    private static long median(final List<Long> times) {
+        final List<Long> sorted = new ArrayList<Long>(times);
+        Collections.sort(sorted);
+        final int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    /**
+     * Launch the planner with both modes and display the median times.
+     *
+     * @return 0 if a plan has been found by all the launches, 1 otherwise
+     * @throws Exception If the planner cannot be launched
+     */
+    @Override
+    public Integer call() throws Exception {
+        if (this.nbRuns < 1) {
+            throw new CommandLine.ParameterException(this.spec.commandLine(), "Incorrect number of runs");
+        }
+
+        final List<String> defaultJvmArgs = new ArrayList<String>();
+        final List<String> startupJvmArgs = new ArrayList<String>(this.startupJvmArgs);
+        if (this.archive != null) {
+            if (this.archive.isFile()) {
+                startupJvmArgs.add("-XX:SharedArchiveFile=" + this.archive.getPath());
+            } else {
+                LOGGER.warn("The archive {} does not exist (run the task cdsArchive)\n", this.archive);
+            }
+        }
+        LOGGER.info("Startup profile: {}\n", startupJvmArgs);
+
+        // The first launch of each mode fills the cache of the file system
+        launch(defaultJvmArgs);
+        launch(startupJvmArgs);
+
+        final List<Long> defaultTimesToPlan = new ArrayList<Long>();
+        final List<Long> defaultTotalTimes = new ArrayList<Long>();
+        final List<Long> startupTimesToPlan = new ArrayList<Long>();
+        final List<Long> startupTotalTimes = new ArrayList<Long>();
+        boolean allPlansFound = true;
+        for (int run = 0; run < this.nbRuns; run++) {
+            final Launch defaultLaunch = launch(defaultJvmArgs);
+            final Launch startupLaunch = launch(startupJvmArgs);
+            allPlansFound &= defaultLaunch.timeToPlan >= 0 && startupLaunch.timeToPlan >= 0;
+            defaultTimesToPlan.add(defaultLaunch.timeToPlan);
+            defaultTotalTimes.add(defaultLaunch.totalTime);
+            startupTimesToPlan.add(startupLaunch.timeToPlan);
+            startupTotalTimes.add(startupLaunch.totalTime);
+            LOGGER.info("Run {}: default {} ms to plan ({} ms total), startup profile {} ms to plan ({} ms total)\n",
+                    run + 1, defaultLaunch.timeToPlan, defaultLaunch.totalTime, startupLaunch.timeToPlan,
+                    startupLaunch.totalTime);
+        }
+
+        if (!allPlansFound) {
+            LOGGER.error("No plan found for {} by at least one launch\n", this.problemFile);
+            return 1;
+        }
+
+        final long defaultMedian = median(defaultTimesToPlan);
+        final long startupMedian = median(startupTimesToPlan);
+        LOGGER.info("Median time to first plan: default {} ms, startup profile {} ms (x{})\n", defaultMedian,
+                startupMedian, String.format("%.2f", (double) defaultMedian / Math.max(1, startupMedian)));
+        LOGGER.info("Median total time: default {} ms, startup profile {} ms\n", median(defaultTotalTimes),
+                median(startupTotalTimes));
+        return 0;
+    }
+
+    /**
+     * The main method of the <code>StartupBenchmark</code>.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        Startup.configure();
+        Startup.enableLogs();
+        final CommandLine cmd = new CommandLine(new StartupBenchmark());
+        System.exit(cmd.execute(args));
+    }
+}
@@ -0,0 +1,187 @@
+package sat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import fr.uga.pddl4j.plan.AbstractPlan;
+import fr.uga.pddl4j.problem.operator.Action;
+
+/**
+ * This class implements a parallel plan: a sequence of steps where each step is
+ * a set of actions. Unlike the parallel plan of pddl4j, the actions of a step
+ * are kept in the order in which they are added, so that the plans written are
+ * the same from one run to another.
+ */
+public final class StepPlan extends AbstractPlan {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The actions of each step of the plan.
+     */
+    private final List<Set<Action>> steps = new ArrayList<Set<Action>>();
+
+    /**
+     * Create a new empty plan.
+     */
+    public StepPlan() {
+        super();
+    }
+
+    /**
+     * Returns the number of steps of the plan.
+     *
+     * @return The number of steps of the plan
+     */
+    @Override
+    public double makespan() {
+        return this.steps.size();
+    }
+
+    /**
+     * Returns the time specifiers of the plan (i.e the index of each step).
+     *
+     * @return The time specifiers of the plan sorted by increasing order
+     */
+    @Override
+    public Set<Integer> timeSpecifiers() {
+        final Set<Integer> timeSpecifiers = new TreeSet<Integer>();
+        for (int i = 0; i < this.steps.size(); i++) {
+            timeSpecifiers.add(i);
+        }
+        return timeSpecifiers;
+    }
+
+    /**
+     * Returns the actions of the plan step after step.
+     *
+     * @return The actions of the plan
+     */
+    @Override
+    public List<Action> actions() {
+        final List<Action> actions = new ArrayList<Action>();
+        for (Set<Action> step : this.steps) {
+            actions.addAll(step);
+        }
+        return actions;
+    }
+
+    /**
+     * Returns the actions of a step.
+     *
+     * @param timeSpecifier The index of the step
+     * @return The actions of the step (empty if the step does not exist)
+     */
+    @Override
+    public Set<Action> getActionSet(final int timeSpecifier) {
+        if (this.isTimeSpecifierOutOfBound(timeSpecifier)) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(this.steps.get(timeSpecifier));
+    }
+
+    /**
+     * Add an action to a step. The empty steps before this step are created if
+     * needed.
+     *
+     * @param timeSpecifier The index of the step
+     * @param action        The action to add
+     * @return True if the action has been added, false otherwise
+     */
+    @Override
+    public boolean add(final int timeSpecifier, final Action action) {
+        if (timeSpecifier < 0) {
+            return false;
+        }
+        while (this.steps.size() <= timeSpecifier) {
+            this.steps.add(new LinkedHashSet<Action>());
+        }
+        return this.steps.get(timeSpecifier).add(action);
+    }
+
+    /**
+     * Remove an action from a step.
+     *
+     * @param timeSpecifier The index of the step
+     * @param action        The action to remove
+     * @return True if the action has been removed, false otherwise
+     */
+    @Override
+    public boolean remove(final int timeSpecifier, final Action action) {
+        return !this.isTimeSpecifierOutOfBound(timeSpecifier) && this.steps.get(timeSpecifier).remove(action);
+    }
+
+    /**
+     * Remove a step. The following steps are shifted.
+     *
+     * @param timeSpecifier The index of the step
+     * @return True if the step has been removed, false otherwise
+     */
+    @Override
+    public boolean remove(final int timeSpecifier) {
+        if (this.isTimeSpecifierOutOfBound(timeSpecifier)) {
+            return false;
+        }
+        this.steps.remove(timeSpecifier);
+        return true;
+    }
+
+    /**
+     * Returns if a step contains an action.
+     *
+     * @param timeSpecifier The index of the step
+     * @param action        The action
+     * @return True if the step contains the action, false otherwise
+     */
+    @Override
+    public boolean contains(final int timeSpecifier, final Action action) {
+        return !this.isTimeSpecifierOutOfBound(timeSpecifier) && this.steps.get(timeSpecifier).contains(action);
+    }
+
+    /**
+     * Remove all the steps of the plan.
+     */
+    @Override
+    public void clear() {
+        this.steps.clear();
+    }
+
+    /**
+     * Returns if a step index is out of the plan.
+     *
+     * @param timeSpecifier The index of the step
+     * @return True if there is no step with this index, false otherwise
+     */
+    private boolean isTimeSpecifierOutOfBound(final int timeSpecifier) {
+        return timeSpecifier < 0 || timeSpecifier >= this.steps.size();
+    }
+
+    /**
+     * Returns if this plan is equal to an object (i.e the object is a
+     * <code>StepPlan</code> with the same actions in the same steps).
+     *
+     * @param obj The object to compare
+     * @return True if the plans are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof StepPlan && this.steps.equals(((StepPlan) obj).steps);
+    }
+
+    /**
+     * Returns the hash code of the plan.
+     *
+     * @return The hash code of the plan
+     */
+    @Override
+    public int hashCode() {
+        return this.steps.hashCode();
+    }
+}
@@ -0,0 +1,62 @@
+package sat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkResultTest {
+
+    private static BenchmarkResult solved(long encodeTime, long solveTime, int planLength) {
+        BenchmarkResult result = new BenchmarkResult("gripper", "p01");
+        result.setStatus(BenchmarkResult.Status.SOLVED);
+        result.setEncodeTime(encodeTime);
+        result.setSolveTime(solveTime);
+        result.setWallTime(encodeTime + solveTime + 100);
+        result.setHorizon(16);
+        result.setClauses(13752);
+        result.setPlanLength(planLength);
+        result.setPeakHeap(30L << 20);
+        return result;
+    }
+
+    @Test
+    void csvRoundTrip() {
+        BenchmarkResult result = solved(200, 1000, 13);
+        BenchmarkResult read = BenchmarkResult.fromCsv(result.toCsv());
+
+        assertEquals(result.toCsv(), read.toCsv());
+        assertEquals("gripper/p01", read.getKey());
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkResult.fromCsv("gripper,p01,SOLVED"));
+    }
+
+    @Test
+    void csvRoundTripKeepsRegressions() {
+        BenchmarkResult slower = solved(200, 3000, 15);
+        slower.compareTo(solved(200, 1000, 13), 0.2);
+        BenchmarkResult read = BenchmarkResult.fromCsv(slower.toCsv());
+
+        assertEquals(2, read.getRegressions().size());
+        assertEquals(slower.getRegressions(), read.getRegressions());
+        assertEquals(slower.toCsv(), read.toCsv());
+        assertTrue(BenchmarkResult.fromCsv(solved(200, 1000, 13).toCsv()).getRegressions().isEmpty());
+    }
+
+    @Test
+    void regressionsAreFlagged() {
+        BenchmarkResult baseline = solved(200, 1000, 13);
+
+        BenchmarkResult same = solved(210, 1050, 13);
+        same.compareTo(baseline, 0.2);
+        assertTrue(same.getRegressions().isEmpty());
+
+        BenchmarkResult slower = solved(200, 3000, 15);
+        slower.compareTo(baseline, 0.2);
+        assertEquals(2, slower.getRegressions().size());
+
+        BenchmarkResult timeout = new BenchmarkResult("gripper", "p01");
+        timeout.setStatus(BenchmarkResult.Status.TIMEOUT);
+        timeout.compareTo(baseline, 0.2);
+        assertEquals(1, timeout.getRegressions().size());
+        assertTrue(timeout.toJson().contains("\"status\": \"TIMEOUT\""));
+    }
+}
@@ -0,0 +1,85 @@
+package sat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.sat4j.specs.TimeoutException;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.ADLProblem;
+import fr.uga.pddl4j.problem.operator.Action;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalEffectsTest {
+
+    @Test
+    void conditionalEffectsAreIndexed() throws IOException {
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.resource(planner, "briefcase", "p01");
+        EncodingIndex index = planner.getEncodingIndex(problem);
+
+        // Each move carries the book and the key if they are in the briefcase
+        assertEquals(8, index.getNbConditionalEffects());
+        for (int e = 0; e < index.getNbConditionalEffects(); e++) {
+            assertEquals("move", problem.getActions().get(index.getConditionalEffectAction(e)).getName());
+            assertEquals(1, index.getPositiveEffectConditions().size(e));
+        }
+        assertEquals(index.getPositiveConditionalEffects().totalSize(),
+                index.getConditionalEffectsWithPositiveEffect().totalSize());
+    }
+
+    @Test
+    void planUsesConditionalEffectsAndNegativeGoal() throws IOException {
+        for (ExclusionEncoding encoding : ExclusionEncoding.values()) {
+            SAT planner = new SAT();
+            planner.setExclusionEncoding(encoding);
+            ADLProblem problem = TestProblems.resource(planner, "briefcase", "p01");
+            Plan plan = planner.solve(problem);
+
+            assertNotNull(plan);
+            assertTrue(PlanValidator.isValid(problem, plan));
+            // The book is moved by the briefcase and must then be taken out of it
+            final List<String> names = new ArrayList<String>();
+            for (Action action : plan.actions()) {
+                names.add(action.getName());
+            }
+            assertTrue(names.contains("put-in"));
+            assertTrue(names.lastIndexOf("take-out") > names.indexOf("move"));
+
+            TestProblems.assertEstimateIsExact(planner, problem, planner.getSizePlan(), encoding);
+        }
+    }
+
+    @Test
+    void addWinsOverDeleteOfSameAction() throws IOException {
+        // p01: the add is always fired, p02: the delete is unconditional and the add
+        // conditional, p03: both are conditional
+        for (String name : new String[] { "p01", "p02", "p03" }) {
+            SAT planner = new SAT();
+            ADLProblem problem = TestProblems.resource(planner, "conflict", name);
+            Plan plan = planner.solve(problem);
+
+            assertNotNull(plan);
+            assertEquals(1, plan.size());
+            assertTrue(PlanValidator.isValid(problem, plan));
+
+            TestProblems.assertEstimateIsExact(planner, problem, planner.getSizePlan(), ExclusionEncoding.COMPLETE);
+        }
+    }
+
+    @Test
+    void fluentAddedBackCannotBecomeFalse() throws IOException, TimeoutException {
+        // p04: p is never deleted once the conflicts are resolved, so (not (p)) is
+        // unreachable
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.resource(planner, "conflict", "p04");
+
+        for (int planSize = 1; planSize <= 4; planSize++) {
+            assertNull(planner.solverSAT(planner.encodeProblemAsCNF(problem, planSize), problem));
+            TestProblems.assertEstimateIsExact(planner, problem, planSize, ExclusionEncoding.COMPLETE);
+        }
+    }
+}
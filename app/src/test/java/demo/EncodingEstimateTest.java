@@ -0,0 +1,52 @@
+package sat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.ADLProblem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodingEstimateTest {
+
+    @Test
+    void estimateIsExact() throws IOException {
+        for (ExclusionEncoding encoding : ExclusionEncoding.values()) {
+            SAT planner = new SAT();
+            planner.setExclusionEncoding(encoding);
+            ADLProblem problem = TestProblems.benchmark(planner, "depots");
+
+            for (int planSize = 1; planSize <= 3; planSize++) {
+                TestProblems.assertEstimateIsExact(planner, problem, planSize, encoding);
+            }
+        }
+    }
+
+    @Test
+    void maxPlanSizeFitsInMemory() throws IOException {
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.benchmark(planner, "gripper");
+        EncodingIndex index = planner.getEncodingIndex(problem);
+        long memory = 64L << 20;
+
+        int maxPlanSize = EncodingEstimate.getMaxPlanSize(problem, index, ExclusionEncoding.COMPLETE, memory);
+        assertTrue(maxPlanSize > 0);
+        assertTrue(EncodingEstimate.estimate(problem, index, maxPlanSize, ExclusionEncoding.COMPLETE).fitsIn(memory));
+        assertFalse(
+                EncodingEstimate.estimate(problem, index, maxPlanSize + 1, ExclusionEncoding.COMPLETE).fitsIn(memory));
+        assertTrue(EncodingEstimate.getMaxPlanSize(problem, index, ExclusionEncoding.SEQUENTIAL, memory) > maxPlanSize);
+    }
+
+    @Test
+    void sequentialEncodingFindsValidPlan() throws IOException {
+        SAT planner = new SAT();
+        planner.setExclusionEncoding(ExclusionEncoding.SEQUENTIAL);
+        ADLProblem problem = TestProblems.benchmark(planner, "blocksworld");
+        Plan plan = planner.solve(problem);
+
+        assertNotNull(plan);
+        assertTrue(PlanValidator.isValid(problem, plan));
+    }
+}
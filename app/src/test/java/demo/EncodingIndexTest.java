@@ -0,0 +1,77 @@
+package sat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import fr.uga.pddl4j.problem.ADLProblem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.BitVector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodingIndexTest {
+
+    private static void assertRowEquals(BitVector expected, EncodingIndex.Table table, int row) {
+        assertEquals(expected.cardinality(), table.size(row));
+        int k = table.start(row);
+        for (int p = expected.nextSetBit(0); p >= 0; p = expected.nextSetBit(p + 1)) {
+            assertEquals(p, table.get(k++));
+        }
+    }
+
+    @Test
+    void indexMatchesActions() throws IOException {
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.benchmark(planner, "gripper");
+        EncodingIndex index = planner.getEncodingIndex(problem);
+
+        assertTrue(index.isBuiltFor(problem));
+        assertEquals(problem.getActions().size(), index.getNbActions());
+        assertEquals(problem.getFluents().size(), index.getNbFluents());
+
+        for (int a = 0; a < index.getNbActions(); a++) {
+            Action action = problem.getActions().get(a);
+            assertRowEquals(action.getPrecondition().getPositiveFluents(), index.getPositivePreconditions(), a);
+            assertRowEquals(action.getPrecondition().getNegativeFluents(), index.getNegativePreconditions(), a);
+            assertRowEquals(action.getUnconditionalEffect().getPositiveFluents(), index.getPositiveEffects(), a);
+            // The deletes are applied before the adds (e.g. move from a room to itself)
+            BitVector deletes = action.getUnconditionalEffect().getNegativeFluents();
+            deletes.andNot(action.getUnconditionalEffect().getPositiveFluents());
+            assertRowEquals(deletes, index.getNegativeEffects(), a);
+        }
+    }
+
+    @Test
+    void fluentRowsAreTransposeOfActionRows() throws IOException {
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.benchmark(planner, "blocksworld");
+        EncodingIndex index = planner.getEncodingIndex(problem);
+        EncodingIndex.Table byFluent = index.getActionsWithPositiveEffect();
+
+        assertEquals(index.getPositiveEffects().totalSize(), byFluent.totalSize());
+        for (int f = 0; f < index.getNbFluents(); f++) {
+            int previous = -1;
+            for (int k = byFluent.start(f); k < byFluent.end(f); k++) {
+                int a = byFluent.get(k);
+                assertTrue(a > previous);
+                assertTrue(problem.getActions().get(a).getUnconditionalEffect().getPositiveFluents().get(f));
+                previous = a;
+            }
+        }
+    }
+
+    @Test
+    void variablesMatchUniqueIDs() throws IOException {
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.benchmark(planner, "gripper");
+        EncodingIndex index = planner.getEncodingIndex(problem);
+
+        for (int step = 0; step < 3; step++) {
+            assertEquals(planner.getFluentUniqueIDforTimeStep(problem, problem.getFluents().get(1), step),
+                    index.fluentVariable(1, step));
+            assertEquals(planner.getActionUniqueIDforTimeStep(problem, problem.getActions().get(2), step),
+                    index.actionVariable(2, step));
+        }
+    }
+}
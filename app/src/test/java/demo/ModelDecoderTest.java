@@ -0,0 +1,62 @@
+package sat;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.ADLProblem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelDecoderTest {
+
+    @Test
+    void onlyActionsOfEachStepAreDecoded() throws IOException {
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.benchmark(planner, "gripper");
+        EncodingIndex index = planner.getEncodingIndex(problem);
+        int planSize = 3;
+        int nbVariables = index.getNbStepVariables(planSize) + 10;
+
+        // Actions 4 and 2 at step 0, nothing at step 1, action 0 at step 2. All the
+        // fluents and the auxiliary variables are true, and the variable of the
+        // action 1 at step 0 is missing from the model.
+        BitSet expected = new BitSet();
+        expected.set(4);
+        expected.set(2);
+        expected.set(2 * index.getNbActions());
+        int[] model = new int[nbVariables - 1];
+        int position = 0;
+        for (int variable = 1; variable <= nbVariables; variable++) {
+            if (variable == index.actionVariable(1, 0)) {
+                continue;
+            }
+            boolean isAction = false;
+            boolean value = true;
+            for (int step = 0; step < planSize; step++) {
+                int a = variable - index.actionVariable(0, step);
+                if (a >= 0 && a < index.getNbActions()) {
+                    isAction = true;
+                    value = expected.get(step * index.getNbActions() + a);
+                }
+            }
+            model[position++] = isAction && !value ? -variable : variable;
+        }
+
+        BitSet actions = ModelDecoder.decodeActions(model, index, planSize);
+        assertEquals(expected, actions);
+
+        Plan sequential = ModelDecoder.toSequentialPlan(actions, problem);
+        assertEquals(3, sequential.size());
+        assertSame(problem.getActions().get(2), sequential.actions().get(0));
+        assertSame(problem.getActions().get(4), sequential.actions().get(1));
+        assertSame(problem.getActions().get(0), sequential.actions().get(2));
+
+        Plan parallel = ModelDecoder.toParallelPlan(actions, problem);
+        assertEquals(2, parallel.timeSpecifiers().size());
+        assertEquals(sequential.actions(), parallel.actions());
+        assertTrue(parallel.contains(1, problem.getActions().get(0)));
+    }
+}
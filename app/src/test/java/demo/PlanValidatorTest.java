@@ -0,0 +1,36 @@
+package sat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.ADLProblem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanValidatorTest {
+
+    @Test
+    void planFoundIsValid() throws IOException {
+        SAT planner = new SAT();
+        ADLProblem problem = TestProblems.benchmark(planner, "blocksworld");
+        Plan plan = planner.solve(problem);
+
+        assertTrue(PlanValidator.isValid(problem, plan));
+
+        // Without its last action the plan does not reach the goal
+        Plan truncated = new SequentialPlan();
+        for (int i = 0; i < plan.size() - 1; i++) {
+            truncated.add(i, plan.actions().get(i));
+        }
+        assertFalse(PlanValidator.isValid(problem, truncated));
+
+        // The first action cannot be applied twice in a row
+        Plan repeated = new SequentialPlan();
+        repeated.add(0, plan.actions().get(0));
+        repeated.add(1, plan.actions().get(0));
+        assertFalse(PlanValidator.isValid(problem, repeated));
+    }
+}
@@ -0,0 +1,63 @@
+package sat;
+
+import java.io.IOException;
+
+import org.sat4j.core.Vec;
+import org.sat4j.specs.IVecInt;
+
+import fr.uga.pddl4j.problem.ADLProblem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Problems used by the tests. The tests are run from the folder
+ * <code>app</code>: the benchmarks are in the folder <code>../benchmarks</code>
+ * and the domains written for the tests in <code>src/test/resources</code>.
+ */
+final class TestProblems {
+
+    private TestProblems() {
+    }
+
+    /**
+     * Parse and instantiate the first problem of a benchmark.
+     */
+    static ADLProblem benchmark(SAT planner, String domain) throws IOException {
+        return instantiate(planner, "../benchmarks/" + domain, "p01");
+    }
+
+    /**
+     * Parse and instantiate a problem of a domain written for the tests.
+     */
+    static ADLProblem resource(SAT planner, String domain, String problem) throws IOException {
+        return instantiate(planner, "src/test/resources/" + domain, problem);
+    }
+
+    private static ADLProblem instantiate(SAT planner, String domainDir, String problem) throws IOException {
+        return planner.instantiate(planner.parse(domainDir + "/domain.pddl", domainDir + "/" + problem + ".pddl"));
+    }
+
+    /**
+     * Check that the estimate of the encoding of a problem gives the number of
+     * clauses, literals and variables of the encoding built.
+     */
+    static void assertEstimateIsExact(SAT planner, ADLProblem problem, int planSize, ExclusionEncoding encoding) {
+        EncodingEstimate estimate = EncodingEstimate.estimate(problem, planner.getEncodingIndex(problem), planSize,
+                encoding);
+        Vec<IVecInt> clauses = planner.encodeProblemAsCNF(problem, planSize);
+        long nbLiterals = 0;
+        int maxVariable = 0;
+        for (int c = 0; c < clauses.size(); c++) {
+            IVecInt clause = clauses.get(c);
+            nbLiterals += clause.size();
+            for (int l = 0; l < clause.size(); l++) {
+                maxVariable = Math.max(maxVariable, Math.abs(clause.get(l)));
+            }
+        }
+
+        assertEquals(clauses.size(), estimate.getNbClauses());
+        assertEquals(nbLiterals, estimate.getNbLiterals());
+        assertEquals(planner.getNbVariables(), estimate.getNbVariables());
+        assertTrue(maxVariable <= estimate.getNbVariables());
+    }
+}